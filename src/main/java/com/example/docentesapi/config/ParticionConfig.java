@@ -0,0 +1,73 @@
+package com.example.docentesapi.config;
+
+import com.example.docentesapi.particion.EsquemaParticion;
+import com.example.docentesapi.particion.ParticionRoutingDataSource;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.particion.PropiedadesParticion;
+import com.example.docentesapi.trazas.TrazadorSql;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+@Configuration
+@EnableConfigurationProperties(PropiedadesParticion.class)
+public class ParticionConfig {
+
+    @Bean
+    public Particiones particiones(PropiedadesParticion propiedades, PlatformTransactionManager transactionManager,
+                                   TrazadorSql trazadorSql) {
+        int total = propiedades.habilitada() ? propiedades.shards().size() : 1;
+        return new Particiones(total, propiedades.hilos(), transactionManager, trazadorSql);
+    }
+
+
+    /**
+     * Con {@code particion.habilitada=true} reemplaza el DataSource de {@code spring.datasource.*} por uno que
+     * dirige cada conexión a la partición indicada en {@code ContextoParticion}.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "particion.habilitada", havingValue = "true")
+    public DataSource dataSource(PropiedadesParticion propiedades,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        List<PropiedadesParticion.Shard> shards = propiedades.shards();
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("particion.habilitada=true requiere al menos un particion.shards[n].url");
+        }
+        // Con open-in-view un mismo EntityManager mezclaría entidades de distintas particiones con el mismo ID
+        if (openInView) {
+            throw new IllegalStateException("particion.habilitada=true requiere spring.jpa.open-in-view=false");
+        }
+
+        Map<Object, Object> destinos = new HashMap<>();
+
+        for (int i = 0; i < shards.size(); i++) {
+            PropiedadesParticion.Shard shard = shards.get(i);
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .driverClassName(shard.driverClassName())
+                    .build();
+            EsquemaParticion.aplicar(dataSource);
+            destinos.put(i, dataSource);
+        }
+
+        ParticionRoutingDataSource routing = new ParticionRoutingDataSource();
+        routing.setTargetDataSources(destinos);
+        // Hibernate usa la partición 0 al arrancar para detectar el dialecto
+        routing.setDefaultTargetDataSource(destinos.get(0));
+        return routing;
+    }
+}
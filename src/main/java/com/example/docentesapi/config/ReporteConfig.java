@@ -0,0 +1,31 @@
+package com.example.docentesapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+
+@Configuration
+@EnableScheduling
+public class ReporteConfig {
+
+    /**
+     * Pool acotado para los reportes: las exportaciones grandes no ocupan hilos de Tomcat
+     * y, al llenarse la cola, las nuevas solicitudes se rechazan en lugar de acumularse.
+     */
+    @Bean(name = "reporteExecutor")
+    public ThreadPoolTaskExecutor reporteExecutor(
+            @Value("${reportes.executor.hilos:2}") int hilos,
+            @Value("${reportes.executor.capacidad-cola:20}") int capacidadCola) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(capacidadCola);
+        executor.setThreadNamePrefix("reporte-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.docentesapi.controller;
 
 import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.service.CoalescedorLecturas;
 import com.example.docentesapi.service.DocenteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -28,11 +29,13 @@ import java.util.Map;
 public class DocenteController {
 
     private final DocenteService docenteService;
+    private final CoalescedorLecturas coalescedor;
 
 
     @Autowired
-    public DocenteController(DocenteService docenteService) {
+    public DocenteController(DocenteService docenteService, CoalescedorLecturas coalescedor) {
         this.docenteService = docenteService;
+        this.coalescedor = coalescedor;
     }
 
     @GetMapping
@@ -52,10 +55,16 @@ public class DocenteController {
 
            ) {
 
-        Pageable pageable = PageRequest.of(page, size);
+        Map<String, Object> response = coalescedor.ejecutar("listar:" + page + ":" + size, () -> {
+            Pageable pageable = PageRequest.of(page, size);
+            return construirPagina(docenteService.obtenerTodosLosDocentes(pageable));
+        });
 
-        Page<Docente> pageDocentes = docenteService.obtenerTodosLosDocentes(pageable);
+        return ResponseEntity.ok(response);
+    }
 
+
+    private Map<String, Object> construirPagina(Page<Docente> pageDocentes) {
         Map<String, Object> response = new HashMap<>();
         response.put("docentes", pageDocentes.getContent());
         response.put("currentPage", pageDocentes.getNumber());
@@ -67,7 +76,7 @@ public class DocenteController {
         response.put("isFirst", pageDocentes.isFirst());
         response.put("isLast", pageDocentes.isLast());
 
-        return ResponseEntity.ok(response);
+        return response;
     }
 
 
@@ -151,12 +160,15 @@ public class DocenteController {
             @Parameter(description = "Nombre de la ciudad", example = "Cusco")
             @PathVariable String ciudad) {
 
-        List<Docente> docentes = docenteService.obtenerDocentesPorCiudad(ciudad);
+        Map<String, Object> response = coalescedor.ejecutar("ciudad:" + ciudad, () -> {
+            List<Docente> docentes = docenteService.obtenerDocentesPorCiudad(ciudad);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("ciudad", ciudad);
-        response.put("totalDocentes", docentes.size());
-        response.put("docentes", docentes);
+            Map<String, Object> body = new HashMap<>();
+            body.put("ciudad", ciudad);
+            body.put("totalDocentes", docentes.size());
+            body.put("docentes", docentes);
+            return body;
+        });
 
         return ResponseEntity.ok(response);
     }
@@ -174,12 +186,15 @@ public class DocenteController {
             @Parameter(description = "Años mínimos de experiencia", example = "5")
             @PathVariable Integer anos) {
 
-        List<Docente> docentes = docenteService.obtenerDocentesPorExperiencia(anos);
+        Map<String, Object> response = coalescedor.ejecutar("experiencia:" + anos, () -> {
+            List<Docente> docentes = docenteService.obtenerDocentesPorExperiencia(anos);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("experienciaMinima", anos);
-        response.put("totalDocentes", docentes.size());
-        response.put("docentes", docentes);
+            Map<String, Object> body = new HashMap<>();
+            body.put("experienciaMinima", anos);
+            body.put("totalDocentes", docentes.size());
+            body.put("docentes", docentes);
+            return body;
+        });
 
         return ResponseEntity.ok(response);
     }
@@ -194,13 +209,16 @@ public class DocenteController {
     })
     public ResponseEntity<Map<String, Object>> calcularEdadPromedio() {
 
-        Double edadPromedio = docenteService.calcularEdadPromedio();
-        Long totalDocentes = (long) docenteService.obtenerTodosLosDocentes().size();
+        Map<String, Object> response = coalescedor.ejecutar("edad-promedio", () -> {
+            Double edadPromedio = docenteService.calcularEdadPromedio();
+            Long totalDocentes = docenteService.contarDocentes();
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("edadPromedio", edadPromedio);
-        response.put("totalDocentes", totalDocentes);
-        response.put("mensaje", "Edad promedio calculada basada en " + totalDocentes + " docentes");
+            Map<String, Object> body = new HashMap<>();
+            body.put("edadPromedio", edadPromedio);
+            body.put("totalDocentes", totalDocentes);
+            body.put("mensaje", "Edad promedio calculada basada en " + totalDocentes + " docentes");
+            return body;
+        });
 
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,49 @@
+package com.example.docentesapi.controller;
+
+import com.example.docentesapi.service.CoalescedorLecturas;
+import com.example.docentesapi.trazas.TrazadorSql;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+
+@RestController
+@RequestMapping("/api/metricas")
+@Tag(name = "Métricas", description = "Métricas internas de la API")
+public class MetricasController {
+
+    private final CoalescedorLecturas coalescedor;
+    private final TrazadorSql trazadorSql;
+
+
+    @Autowired
+    public MetricasController(CoalescedorLecturas coalescedor, TrazadorSql trazadorSql) {
+        this.coalescedor = coalescedor;
+        this.trazadorSql = trazadorSql;
+    }
+
+
+    @GetMapping("/coalescencia")
+    @Operation(summary = "Métricas de coalescencia",
+            description = "Cantidad de lecturas ejecutadas, agrupadas y servidas desde la micro-caché")
+    @ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente")
+    public ResponseEntity<Map<String, Object>> obtenerMetricasCoalescencia() {
+        return ResponseEntity.ok(coalescedor.obtenerMetricas());
+    }
+
+
+    @GetMapping("/sql")
+    @Operation(summary = "Métricas de SQL",
+            description = "Sentencias ejecutadas, lentas, muestreadas y peticiones con posible N+1")
+    @ApiResponse(responseCode = "200", description = "Métricas obtenidas exitosamente")
+    public ResponseEntity<Map<String, Object>> obtenerMetricasSql() {
+        return ResponseEntity.ok(trazadorSql.obtenerMetricas());
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.docentesapi.controller;
+
+import com.example.docentesapi.dto.FormatoReporte;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.dto.TipoReporte;
+import com.example.docentesapi.service.ReporteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.apache.catalina.Globals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+@RestController
+@RequestMapping("/api/reportes")
+@Tag(name = "Reportes", description = "Exportaciones y agregaciones de docentes generadas en segundo plano")
+public class ReporteController {
+
+    private final ReporteService reporteService;
+
+
+    @Autowired
+    public ReporteController(ReporteService reporteService) {
+        this.reporteService = reporteService;
+    }
+
+
+    @PostMapping
+    @Operation(summary = "Solicitar reporte",
+            description = "Encola la generación de un reporte y retorna su identificador. " +
+                    "Solicitudes idénticas reutilizan el mismo reporte mientras siga vigente")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reporte aceptado"),
+            @ApiResponse(responseCode = "400", description = "Parámetros del reporte inválidos"),
+            @ApiResponse(responseCode = "503", description = "La cola de reportes está llena")
+    })
+    public ResponseEntity<ReporteJob> solicitarReporte(
+            @Parameter(description = "Parámetros del reporte")
+            @Valid @RequestBody SolicitudReporte solicitud) {
+
+        ReporteJob job = reporteService.solicitarReporte(solicitud);
+        URI ubicacion = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(ubicacion).body(job);
+    }
+
+
+    @PostMapping("/duplicados")
+    @Operation(summary = "Detectar docentes duplicados",
+            description = "Encola la búsqueda de docentes de la misma ciudad, con fechas de nacimiento cercanas y nombres similares. " +
+                    "El archivo resultante contiene un par por línea con su similitud")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Detección aceptada"),
+            @ApiResponse(responseCode = "503", description = "La cola de reportes está llena")
+    })
+    public ResponseEntity<ReporteJob> detectarDuplicados(
+            @Parameter(description = "Formato del archivo generado", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") FormatoReporte formato) {
+
+        ReporteJob job = reporteService.solicitarReporte(
+                new SolicitudReporte(TipoReporte.DUPLICADOS_PROBABLES, formato, null));
+        URI ubicacion = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/reportes/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+
+        return ResponseEntity.accepted().location(ubicacion).body(job);
+    }
+
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar reporte",
+            description = "Retorna el estado y el progreso de un reporte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reporte encontrado"),
+            @ApiResponse(responseCode = "404", description = "Reporte no encontrado")
+    })
+    public ResponseEntity<ReporteJob> obtenerReporte(
+            @Parameter(description = "ID del reporte")
+            @PathVariable String id) {
+
+        return ResponseEntity.ok(reporteService.obtenerReporte(id));
+    }
+
+
+    @GetMapping("/{id}/archivo")
+    @Operation(summary = "Descargar reporte",
+            description = "Descarga el archivo de un reporte completado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo del reporte"),
+            @ApiResponse(responseCode = "404", description = "Reporte no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El reporte aún no está disponible")
+    })
+    public void descargarReporte(
+            @Parameter(description = "ID del reporte")
+            @PathVariable String id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        ReporteJob job = reporteService.obtenerReporte(id);
+        Path archivo = reporteService.obtenerArchivo(id);
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+
+            response.setContentType(job.getSolicitud().formato().getContentType());
+            response.setCharacterEncoding("UTF-8");
+            response.setContentLengthLong(tamano);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(archivo.getFileName().toString())
+                    .build()
+                    .toString());
+
+            // Con sendfile Tomcat copia el archivo directamente del disco al socket
+            if (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+                request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, archivo.toAbsolutePath().toString());
+                request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, 0L);
+                request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, tamano);
+                return;
+            }
+
+            WritableByteChannel salida = Channels.newChannel(response.getOutputStream());
+            long enviados = 0;
+            while (enviados < tamano) {
+                enviados += canal.transferTo(enviados, tamano - enviados, salida);
+            }
+        }
+    }
+}
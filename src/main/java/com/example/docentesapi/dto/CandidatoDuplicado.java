@@ -0,0 +1,6 @@
+package com.example.docentesapi.dto;
+
+import java.time.LocalDate;
+
+public record CandidatoDuplicado(Long idDocente, String nomDocente, String ciuDocente, LocalDate fecNacimiento) {
+}
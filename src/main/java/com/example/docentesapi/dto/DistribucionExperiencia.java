@@ -0,0 +1,8 @@
+package com.example.docentesapi.dto;
+
+public interface DistribucionExperiencia {
+
+    Integer getTiempoServicio();
+
+    Long getTotalDocentes();
+}
@@ -0,0 +1,8 @@
+package com.example.docentesapi.dto;
+
+public enum EstadoReporte {
+    PENDIENTE,
+    EN_PROCESO,
+    COMPLETADO,
+    FALLIDO
+}
@@ -0,0 +1,9 @@
+package com.example.docentesapi.dto;
+
+import java.time.LocalDate;
+
+public record ParDuplicado(Long idDocente, String nomDocente,
+                           Long idDuplicado, String nomDuplicado,
+                           String ciudad, LocalDate fecNacimiento, LocalDate fecNacimientoDuplicado,
+                           double similitud) {
+}
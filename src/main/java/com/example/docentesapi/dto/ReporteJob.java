@@ -0,0 +1,132 @@
+package com.example.docentesapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+@Schema(description = "Estado de un reporte asíncrono")
+public class ReporteJob {
+
+    private final String id;
+    private final SolicitudReporte solicitud;
+    private final LocalDateTime fechaCreacion;
+    private final long generacionDatos;
+    private final AtomicLong procesados = new AtomicLong();
+
+    private volatile EstadoReporte estado = EstadoReporte.PENDIENTE;
+    private volatile long total;
+    private volatile Path archivo;
+    private volatile LocalDateTime fechaFin;
+    private volatile String mensajeError;
+    private volatile LocalDateTime ultimaDescarga;
+
+    public ReporteJob(SolicitudReporte solicitud, long generacionDatos) {
+        this.id = UUID.randomUUID().toString();
+        this.solicitud = solicitud;
+        this.fechaCreacion = LocalDateTime.now();
+        this.generacionDatos = generacionDatos;
+    }
+
+
+    public void iniciar(long total) {
+        this.total = total;
+        this.estado = EstadoReporte.EN_PROCESO;
+    }
+
+    public void avanzar() {
+        procesados.incrementAndGet();
+    }
+
+    public void avanzar(long cantidad) {
+        procesados.addAndGet(cantidad);
+    }
+
+    public void completar(Path archivo) {
+        this.archivo = archivo;
+        this.fechaFin = LocalDateTime.now();
+        this.estado = EstadoReporte.COMPLETADO;
+    }
+
+    public void fallar(String mensajeError) {
+        this.mensajeError = mensajeError;
+        this.fechaFin = LocalDateTime.now();
+        this.estado = EstadoReporte.FALLIDO;
+    }
+
+    public void registrarDescarga() {
+        this.ultimaDescarga = LocalDateTime.now();
+    }
+
+    @JsonIgnore
+    public boolean isActivo() {
+        return estado == EstadoReporte.PENDIENTE || estado == EstadoReporte.EN_PROCESO;
+    }
+
+
+    public String getId() {
+        return id;
+    }
+
+    public SolicitudReporte getSolicitud() {
+        return solicitud;
+    }
+
+    public EstadoReporte getEstado() {
+        return estado;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public LocalDateTime getFechaFin() {
+        return fechaFin;
+    }
+
+    public String getMensajeError() {
+        return mensajeError;
+    }
+
+    public long getProcesados() {
+        return procesados.get();
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    @Schema(description = "Porcentaje de avance (0-100)", example = "42.5")
+    public double getProgreso() {
+        if (estado == EstadoReporte.COMPLETADO) {
+            return 100.0;
+        }
+        long totalActual = total;
+        if (totalActual <= 0) {
+            return 0.0;
+        }
+        return Math.min(100.0, Math.round(procesados.get() * 1000.0 / totalActual) / 10.0);
+    }
+
+    /**
+     * Versión de los datos de docentes vigente al crear el reporte; si cambia, el resultado ya no se reutiliza.
+     */
+    @JsonIgnore
+    public long getGeneracionDatos() {
+        return generacionDatos;
+    }
+
+    @JsonIgnore
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    @JsonIgnore
+    public LocalDateTime getUltimaDescarga() {
+        return ultimaDescarga;
+    }
+}
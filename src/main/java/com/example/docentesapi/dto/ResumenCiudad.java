@@ -0,0 +1,14 @@
+package com.example.docentesapi.dto;
+
+public interface ResumenCiudad {
+
+    String getCiudad();
+
+    Long getTotalDocentes();
+
+    Double getEdadPromedio();
+
+    Double getExperienciaPromedio();
+
+    Integer getExperienciaMaxima();
+}
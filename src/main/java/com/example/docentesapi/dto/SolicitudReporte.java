@@ -0,0 +1,32 @@
+package com.example.docentesapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Parámetros de un reporte. Dos solicitudes iguales comparten el mismo resultado en caché.
+ */
+@Schema(description = "Solicitud de generación de un reporte asíncrono")
+public record SolicitudReporte(
+
+        @NotNull(message = "El tipo de reporte es obligatorio")
+        @Schema(description = "Tipo de reporte", example = "EXPORTACION_DOCENTES")
+        TipoReporte tipo,
+
+        @NotNull(message = "El formato del reporte es obligatorio")
+        @Schema(description = "Formato del archivo generado", example = "CSV")
+        FormatoReporte formato,
+
+        @Size(max = 50, message = "La ciudad no puede exceder 50 caracteres")
+        @Schema(description = "Ciudad a exportar (solo para EXPORTACION_DOCENTES, opcional)", example = "Cusco")
+        String ciudad
+) {
+
+    public SolicitudReporte {
+        // La ciudad solo filtra la exportación; en los agregados se ignora para no duplicar entradas de caché
+        if (tipo != TipoReporte.EXPORTACION_DOCENTES || (ciudad != null && ciudad.isBlank())) {
+            ciudad = null;
+        }
+    }
+}
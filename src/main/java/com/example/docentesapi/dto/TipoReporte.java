@@ -0,0 +1,8 @@
+package com.example.docentesapi.dto;
+
+public enum TipoReporte {
+    EXPORTACION_DOCENTES,
+    RESUMEN_CIUDADES,
+    DISTRIBUCION_EXPERIENCIA,
+    DUPLICADOS_PROBABLES
+}
@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import io.swagger.v3.oas.annotations.media.Schema;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.Locale;
 
 
 @Entity
-@Table(name = "docentes")
+@Table(name = "docentes", indexes = {
+        @Index(name = "idx_docentes_fec_nacimiento_ciudad", columnList = "fec_nacimiento, ciu_docente")
+})
 @Schema(description = "Entidad que representa un docente universitario")
 public class Docente {
 
@@ -59,6 +64,12 @@ public class Docente {
     @Schema(description = "Años de servicio del docente", example = "15")
     private Integer tiempoServicio;
 
+    // Clave de orden por nombre: solo [a-z0-9 ], así la base y Java la comparan igual con cualquier collation
+    @JsonIgnore
+    @Column(name = "nom_orden", length = 100)
+    @Schema(hidden = true)
+    private String nomOrden;
+
     // Constructores
 
     public Docente() {}
@@ -66,7 +77,7 @@ public class Docente {
 
     public Docente(String nomDocente, String dirDocente, String ciuDocente,
                    String emailDocente, LocalDate fecNacimiento, Integer tiempoServicio) {
-        this.nomDocente = nomDocente;
+        setNomDocente(nomDocente);
         this.dirDocente = dirDocente;
         this.ciuDocente = ciuDocente;
         this.emailDocente = emailDocente;
@@ -91,6 +102,19 @@ public class Docente {
 
     public void setNomDocente(String nomDocente) {
         this.nomDocente = nomDocente;
+        this.nomOrden = claveDeOrden(nomDocente);
+    }
+
+    public String getNomOrden() {
+        return nomOrden;
+    }
+
+    public static String claveDeOrden(String nombre) {
+        if (nombre == null) {
+            return null;
+        }
+        String sinTildes = Normalizer.normalize(nombre, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
     }
 
     public String getDirDocente() {
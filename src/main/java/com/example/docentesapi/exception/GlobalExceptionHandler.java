@@ -2,6 +2,7 @@ package com.example.docentesapi.exception;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -50,6 +51,65 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails);
     }
 
+    @ExceptionHandler(ReporteNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleReporteNotFoundException(
+            ReporteNotFoundException ex, WebRequest request) {
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.NOT_FOUND.value());
+        errorDetails.put("error", "Recurso no encontrado");
+        errorDetails.put("mensaje", ex.getMessage());
+        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorDetails);
+    }
+
+
+    @ExceptionHandler(ReporteNoDisponibleException.class)
+    public ResponseEntity<Map<String, Object>> handleReporteNoDisponibleException(
+            ReporteNoDisponibleException ex, WebRequest request) {
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.CONFLICT.value());
+        errorDetails.put("error", "Reporte no disponible");
+        errorDetails.put("mensaje", ex.getMessage());
+        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorDetails);
+    }
+
+
+    @ExceptionHandler(PaginaNoDisponibleException.class)
+    public ResponseEntity<Map<String, Object>> handlePaginaNoDisponibleException(
+            PaginaNoDisponibleException ex, WebRequest request) {
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.BAD_REQUEST.value());
+        errorDetails.put("error", "Página fuera de rango");
+        errorDetails.put("mensaje", ex.getMessage());
+        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorDetails);
+    }
+
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejectedException(
+            TaskRejectedException ex, WebRequest request) {
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorDetails.put("error", "Servicio saturado");
+        errorDetails.put("mensaje", "La cola de reportes está llena, intente nuevamente más tarde");
+        errorDetails.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorDetails);
+    }
+
     @ExceptionHandler(InvalidDateException.class)
     public ResponseEntity<Map<String, Object>> handleInvalidDateException(InvalidDateException ex) {
         Map<String, Object> response = new HashMap<>();
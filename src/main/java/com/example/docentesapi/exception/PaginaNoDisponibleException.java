@@ -0,0 +1,9 @@
+package com.example.docentesapi.exception;
+
+public class PaginaNoDisponibleException extends RuntimeException {
+
+    public PaginaNoDisponibleException(String mensaje) {
+        super(mensaje);
+    }
+
+}
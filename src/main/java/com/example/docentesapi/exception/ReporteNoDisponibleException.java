@@ -0,0 +1,9 @@
+package com.example.docentesapi.exception;
+
+public class ReporteNoDisponibleException extends RuntimeException {
+
+    public ReporteNoDisponibleException(String mensaje) {
+        super(mensaje);
+    }
+
+}
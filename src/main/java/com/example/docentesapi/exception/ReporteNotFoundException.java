@@ -0,0 +1,9 @@
+package com.example.docentesapi.exception;
+
+public class ReporteNotFoundException extends RuntimeException {
+
+    public ReporteNotFoundException(String mensaje) {
+        super(mensaje);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.docentesapi.particion;
+
+/**
+ * Partición a la que se dirigen las conexiones abiertas por el hilo actual.
+ */
+public final class ContextoParticion {
+
+    private static final ThreadLocal<Integer> PARTICION = new ThreadLocal<>();
+
+    private ContextoParticion() {
+    }
+
+
+    public static Integer actual() {
+        return PARTICION.get();
+    }
+
+    static void establecer(Integer particion) {
+        if (particion == null) {
+            PARTICION.remove();
+        } else {
+            PARTICION.set(particion);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.docentesapi.particion;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Crea el esquema de una partición con {@code schema-particion.sql}. Como el script solo crea las tablas que
+ * no existen, las columnas agregadas después se añaden aquí a las tablas creadas por versiones anteriores.
+ */
+public final class EsquemaParticion {
+
+    private EsquemaParticion() {
+    }
+
+
+    public static void aplicar(DataSource dataSource) {
+        new ResourceDatabasePopulator(new ClassPathResource("schema-particion.sql")).execute(dataSource);
+
+        if (!tieneColumna(dataSource, "docentes", "nom_orden")) {
+            // Las filas existentes quedan con nom_orden en NULL hasta que RellenoNomOrden las complete
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("ALTER TABLE docentes ADD COLUMN nom_orden VARCHAR(100)");
+            jdbcTemplate.execute("CREATE INDEX idx_docentes_nom_orden ON docentes (nom_orden, id_docente)");
+        }
+    }
+
+
+    private static boolean tieneColumna(DataSource dataSource, String tabla, String columna) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, metadatos -> {
+                String catalogo = metadatos.getConnection().getCatalog();
+                // Según la base los nombres se guardan en minúsculas o en mayúsculas
+                for (String nombreTabla : List.of(tabla, tabla.toUpperCase(Locale.ROOT))) {
+                    try (ResultSet columnas = metadatos.getColumns(catalogo, null, nombreTabla, null)) {
+                        while (columnas.next()) {
+                            if (columna.equalsIgnoreCase(columnas.getString("COLUMN_NAME"))) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+                return false;
+            });
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("No se pudo leer el esquema de la partición", e);
+        }
+    }
+}
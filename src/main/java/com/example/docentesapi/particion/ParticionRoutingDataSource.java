@@ -0,0 +1,12 @@
+package com.example.docentesapi.particion;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+
+public class ParticionRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoParticion.actual();
+    }
+}
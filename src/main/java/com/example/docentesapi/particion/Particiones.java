@@ -0,0 +1,141 @@
+package com.example.docentesapi.particion;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+
+/**
+ * Reparte los docentes entre particiones por ciudad y ejecuta operaciones en una o en todas ellas.
+ * <p>
+ * La partición de una ciudad depende del total de particiones, así que ese número no puede cambiar una vez
+ * que hay datos. Sin particionado hay una sola partición.
+ */
+public class Particiones implements AutoCloseable {
+
+    private final int total;
+    private final TransactionTemplate lectura;
+    private final TransactionTemplate escritura;
+    private final ExecutorService executor;
+    private final TaskDecorator decorador;
+
+
+    public Particiones(int total, int hilos, PlatformTransactionManager transactionManager) {
+        this(total, hilos, transactionManager, tarea -> tarea);
+    }
+
+    /**
+     * @param decorador se aplica en el hilo que llama a {@link #enTodas} a cada tarea enviada a otro hilo,
+     *                  para propagar contexto por hilo (por ejemplo, el contador de sentencias de la petición)
+     */
+    public Particiones(int total, int hilos, PlatformTransactionManager transactionManager, TaskDecorator decorador) {
+        if (total < 1) {
+            throw new IllegalStateException("Debe configurarse al menos una partición");
+        }
+        this.total = total;
+        this.decorador = decorador;
+
+        // REQUIRES_NEW: cada operación abre su propia conexión en la partición elegida
+        this.escritura = new TransactionTemplate(transactionManager);
+        this.escritura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lectura.setReadOnly(true);
+
+        if (total > 1) {
+            AtomicInteger contador = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(Math.max(total, hilos), tarea -> {
+                Thread hilo = new Thread(tarea, "particion-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+
+    public int total() {
+        return total;
+    }
+
+    public int particionDeCiudad(String ciudad) {
+        if (total == 1) {
+            return 0;
+        }
+        return Math.floorMod(normalizarCiudad(ciudad).hashCode(), total);
+    }
+
+
+    public <T> T enParticion(int particion, boolean soloLectura, Supplier<T> accion) {
+        Integer anterior = ContextoParticion.actual();
+        ContextoParticion.establecer(particion);
+        try {
+            return (soloLectura ? lectura : escritura).execute(estado -> accion.get());
+        } finally {
+            ContextoParticion.establecer(anterior);
+        }
+    }
+
+
+    /**
+     * Ejecuta la acción en todas las particiones en paralelo. El resultado {@code i} corresponde a la partición {@code i}.
+     */
+    public <T> List<T> enTodas(boolean soloLectura, IntFunction<T> accion) {
+        if (executor == null) {
+            return List.of(enParticion(0, soloLectura, () -> accion.apply(0)));
+        }
+
+        // supplyAsync llama a execute en este hilo, así que el decorador captura el contexto de quien llama
+        Executor executorDecorado = tarea -> executor.execute(decorador.decorate(tarea));
+
+        List<CompletableFuture<T>> futuros = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int particion = i;
+            futuros.add(CompletableFuture.supplyAsync(
+                    () -> enParticion(particion, soloLectura, () -> accion.apply(particion)), executorDecorado));
+        }
+
+        List<T> resultados = new ArrayList<>(total);
+        for (CompletableFuture<T> futuro : futuros) {
+            try {
+                resultados.add(futuro.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+        return resultados;
+    }
+
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+
+    // Igual que la collation de MySQL: sin distinguir mayúsculas ni tildes
+    public static String normalizarCiudad(String ciudad) {
+        String sinTildes = Normalizer.normalize(ciudad.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.docentesapi.particion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+
+@ConfigurationProperties(prefix = "particion")
+public record PropiedadesParticion(
+
+        @DefaultValue("false")
+        boolean habilitada,
+
+        @DefaultValue("8")
+        int hilos,
+
+        List<Shard> shards
+) {
+
+    public PropiedadesParticion {
+        shards = shards != null ? List.copyOf(shards) : List.of();
+    }
+
+
+    public record Shard(String url, String username, String password, String driverClassName) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.docentesapi.repository;
 
+import com.example.docentesapi.dto.DistribucionExperiencia;
+import com.example.docentesapi.dto.ResumenCiudad;
 import com.example.docentesapi.entity.Docente;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +16,7 @@ import java.util.Optional;
 
 
 @Repository
-public interface DocenteRepository extends JpaRepository<Docente, Long> {
+public interface DocenteRepository extends JpaRepository<Docente, Long>, DocenteStreamingRepository {
 
     //    @Query("SELECT d FROM Docente d WHERE LOWER(d.ciuDocente) = LOWER(:ciudad)")
 //    List<Docente> findByCiudad(@Param("ciudad") String ciudad);
@@ -25,6 +28,9 @@ public interface DocenteRepository extends JpaRepository<Docente, Long> {
     @Query("SELECT AVG(CAST((YEAR(CURRENT_DATE) - YEAR(d.fecNacimiento)) AS double)) FROM Docente d")
     Double calcularEdadPromedio();
 
+    @Query("SELECT SUM(YEAR(CURRENT_DATE) - YEAR(d.fecNacimiento)) FROM Docente d")
+    Long sumarEdades();
+
     boolean existsByEmailDocente(String email);
 
     @Query("SELECT COUNT(d) > 0 FROM Docente d WHERE d.emailDocente = :email AND d.idDocente != :idDocente")
@@ -33,5 +39,32 @@ public interface DocenteRepository extends JpaRepository<Docente, Long> {
     @Query("SELECT d FROM Docente d ORDER BY d.nomDocente ASC")
     Page<Docente> findAllOrderByNombre(Pageable pageable);
 
+    @Query("SELECT d FROM Docente d ORDER BY d.nomOrden ASC, d.idDocente ASC")
+    Page<Docente> findAllOrderByNomOrden(Pageable pageable);
+
+    // Filas creadas antes de que existiera nom_orden; las completa RellenoNomOrden
+    List<Docente> findByNomOrdenIsNull(Pageable pageable);
+
+    long countByCiuDocente(String ciudad);
+
+    // Modo particionado: el ID viene de RegistroIdRepository, así que la fila se inserta con él en lugar de generarlo
+    @Modifying
+    @Query(value = "INSERT INTO docentes (id_docente, nom_docente, dir_docente, ciu_docente, email_docente, " +
+            "fec_nacimiento, tiempo_servicio, nom_orden) VALUES (:#{#docente.idDocente}, :#{#docente.nomDocente}, " +
+            ":#{#docente.dirDocente}, :#{#docente.ciuDocente}, :#{#docente.emailDocente}, :#{#docente.fecNacimiento}, " +
+            ":#{#docente.tiempoServicio}, :#{#docente.nomOrden})", nativeQuery = true)
+    void insertarConId(@Param("docente") Docente docente);
+
+    @Query("SELECT d.ciuDocente AS ciudad, COUNT(d) AS totalDocentes, " +
+            "AVG(CAST((YEAR(CURRENT_DATE) - YEAR(d.fecNacimiento)) AS double)) AS edadPromedio, " +
+            "AVG(CAST(d.tiempoServicio AS double)) AS experienciaPromedio, " +
+            "MAX(d.tiempoServicio) AS experienciaMaxima " +
+            "FROM Docente d GROUP BY d.ciuDocente ORDER BY d.ciuDocente")
+    List<ResumenCiudad> resumenPorCiudad();
+
+    @Query("SELECT d.tiempoServicio AS tiempoServicio, COUNT(d) AS totalDocentes " +
+            "FROM Docente d GROUP BY d.tiempoServicio ORDER BY d.tiempoServicio")
+    List<DistribucionExperiencia> distribucionExperiencia();
+
 
 }
\ No newline at end of file
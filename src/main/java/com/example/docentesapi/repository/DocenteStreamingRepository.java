@@ -0,0 +1,21 @@
+package com.example.docentesapi.repository;
+
+import com.example.docentesapi.dto.CandidatoDuplicado;
+import com.example.docentesapi.entity.Docente;
+
+import java.util.stream.Stream;
+
+
+/**
+ * Lecturas en streaming de docentes para los reportes. Se implementan en {@link DocenteStreamingRepositoryImpl}
+ * porque el tamaño de fetch depende de la base y no puede fijarse en una anotación.
+ */
+public interface DocenteStreamingRepository {
+
+    Stream<Docente> streamAll();
+
+    Stream<Docente> streamByCiuDocente(String ciudad);
+
+    // Ordenado por fecha de nacimiento para detectar duplicados sin cargar la tabla completa
+    Stream<CandidatoDuplicado> streamCandidatosDuplicados();
+}
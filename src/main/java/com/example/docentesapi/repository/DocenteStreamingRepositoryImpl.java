@@ -0,0 +1,64 @@
+package com.example.docentesapi.repository;
+
+import com.example.docentesapi.dto.CandidatoDuplicado;
+import com.example.docentesapi.entity.Docente;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.stream.Stream;
+
+
+class DocenteStreamingRepositoryImpl implements DocenteStreamingRepository {
+
+    private static final int TAMANO_FETCH = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int tamanoFetch;
+
+
+    @Autowired
+    DocenteStreamingRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        // Integer.MIN_VALUE hace que MySQL Connector/J entregue las filas una a una en lugar de cargar todo
+        // el resultado; otros drivers, como el de H2 en el modo particionado, rechazan un tamaño negativo
+        boolean mysql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof MySQLDialect;
+        this.tamanoFetch = mysql ? Integer.MIN_VALUE : TAMANO_FETCH;
+    }
+
+
+    @Override
+    public Stream<Docente> streamAll() {
+        return leer(entityManager.createQuery("SELECT d FROM Docente d ORDER BY d.idDocente", Docente.class));
+    }
+
+    @Override
+    public Stream<Docente> streamByCiuDocente(String ciudad) {
+        return leer(entityManager.createQuery(
+                        "SELECT d FROM Docente d WHERE d.ciuDocente = :ciudad ORDER BY d.idDocente", Docente.class)
+                .setParameter("ciudad", ciudad));
+    }
+
+    @Override
+    public Stream<CandidatoDuplicado> streamCandidatosDuplicados() {
+        return leer(entityManager.createQuery(
+                "SELECT new com.example.docentesapi.dto.CandidatoDuplicado(d.idDocente, d.nomDocente, d.ciuDocente, d.fecNacimiento) " +
+                        "FROM Docente d ORDER BY d.fecNacimiento, d.ciuDocente", CandidatoDuplicado.class));
+    }
+
+
+    private <T> Stream<T> leer(TypedQuery<T> consulta) {
+        return consulta
+                .setHint(HibernateHints.HINT_FETCH_SIZE, tamanoFetch)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
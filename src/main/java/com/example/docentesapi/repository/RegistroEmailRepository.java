@@ -0,0 +1,43 @@
+package com.example.docentesapi.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Locale;
+
+
+/**
+ * Tabla {@code emails_docentes} de la partición 0: garantiza que un email sea único entre todas las particiones.
+ * Debe usarse dentro de {@code Particiones.enParticion(0, ...)}.
+ */
+@Repository
+@ConditionalOnProperty(name = "particion.habilitada", havingValue = "true")
+public class RegistroEmailRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    @Autowired
+    public RegistroEmailRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException si el email ya está registrado
+     */
+    public void registrar(String email) {
+        jdbcTemplate.update("INSERT INTO emails_docentes (email_docente) VALUES (?)", normalizar(email));
+    }
+
+    public void eliminar(String email) {
+        jdbcTemplate.update("DELETE FROM emails_docentes WHERE email_docente = ?", normalizar(email));
+    }
+
+
+    private String normalizar(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
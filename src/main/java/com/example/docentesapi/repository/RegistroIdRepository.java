@@ -0,0 +1,59 @@
+package com.example.docentesapi.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Objects;
+import java.util.Optional;
+
+
+/**
+ * Tabla {@code ids_docentes} de la partición 0: asigna los IDs de docentes y guarda en qué partición está cada uno,
+ * de modo que el ID no cambia si el docente pasa a otra partición. Debe usarse dentro de {@code Particiones.enParticion(0, ...)}.
+ */
+@Repository
+@ConditionalOnProperty(name = "particion.habilitada", havingValue = "true")
+public class RegistroIdRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+
+    @Autowired
+    public RegistroIdRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+
+    /**
+     * Reserva un nuevo ID para un docente de la partición indicada.
+     */
+    public long registrar(int particion) {
+        KeyHolder id = new GeneratedKeyHolder();
+        jdbcTemplate.update(conexion -> {
+            PreparedStatement sentencia = conexion.prepareStatement(
+                    "INSERT INTO ids_docentes (particion) VALUES (?)", new String[]{"id_docente"});
+            sentencia.setInt(1, particion);
+            return sentencia;
+        }, id);
+        return Objects.requireNonNull(id.getKey()).longValue();
+    }
+
+    public Optional<Integer> buscarParticion(long idDocente) {
+        return jdbcTemplate.queryForList("SELECT particion FROM ids_docentes WHERE id_docente = ?", Integer.class, idDocente)
+                .stream()
+                .findFirst();
+    }
+
+    public void mover(long idDocente, int particion) {
+        jdbcTemplate.update("UPDATE ids_docentes SET particion = ? WHERE id_docente = ?", particion, idDocente);
+    }
+
+    public void eliminar(long idDocente) {
+        jdbcTemplate.update("DELETE FROM ids_docentes WHERE id_docente = ?", idDocente);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.docentesapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ * Agrupa lecturas idénticas que llegan al mismo tiempo: la primera ejecuta la consulta y las demás
+ * esperan y reciben el mismo resultado. Opcionalmente conserva el resultado durante una ventana corta.
+ * Cualquier modificación de docentes descarta los resultados obtenidos antes de ella.
+ */
+@Component
+public class CoalescedorLecturas {
+
+    private static final int MAXIMO_ENTRADAS_CACHE = 1000;
+
+    private final long duracionCacheNanos;
+
+    private final Map<Clave, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+    private final Map<String, EntradaCache> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+
+    private final LongAdder solicitudes = new LongAdder();
+    private final LongAdder ejecuciones = new LongAdder();
+    private final LongAdder coalescidas = new LongAdder();
+    private final LongAdder aciertosCache = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+
+
+    public CoalescedorLecturas(@Value("${coalescencia.micro-cache.duracion:PT0S}") Duration duracionCache) {
+        this.duracionCacheNanos = duracionCache.toNanos();
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public <T> T ejecutar(String clave, Supplier<T> consulta) {
+        solicitudes.increment();
+        long generacionActual = generacion.get();
+
+        EntradaCache entrada = cache.get(clave);
+        if (entrada != null && entrada.esValida(generacionActual)) {
+            aciertosCache.increment();
+            return (T) entrada.valor();
+        }
+
+        // La generación forma parte de la clave: tras una escritura no se reutiliza una consulta iniciada antes
+        Clave claveEnCurso = new Clave(clave, generacionActual);
+        CompletableFuture<Object> nuevo = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(claveEnCurso, nuevo);
+
+        if (existente != null) {
+            coalescidas.increment();
+            return (T) esperar(existente);
+        }
+
+        ejecuciones.increment();
+        try {
+            T resultado = consulta.get();
+            guardarEnCache(clave, resultado, generacionActual);
+            nuevo.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nuevo.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(claveEnCurso, nuevo);
+        }
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidar(DocentesModificadosEvent event) {
+        generacion.incrementAndGet();
+        cache.clear();
+        invalidaciones.increment();
+    }
+
+
+    public Map<String, Object> obtenerMetricas() {
+        long totalSolicitudes = solicitudes.sum();
+        long ahorradas = coalescidas.sum() + aciertosCache.sum();
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("solicitudes", totalSolicitudes);
+        metricas.put("ejecuciones", ejecuciones.sum());
+        metricas.put("coalescidas", coalescidas.sum());
+        metricas.put("aciertosMicroCache", aciertosCache.sum());
+        metricas.put("ejecucionesAhorradas", ahorradas);
+        metricas.put("porcentajeAhorro", totalSolicitudes > 0
+                ? Math.round(ahorradas * 10000.0 / totalSolicitudes) / 100.0
+                : 0.0);
+        metricas.put("invalidaciones", invalidaciones.sum());
+        metricas.put("enCurso", enCurso.size());
+        metricas.put("duracionMicroCacheMs", Duration.ofNanos(duracionCacheNanos).toMillis());
+        return metricas;
+    }
+
+
+    private Object esperar(CompletableFuture<Object> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            // Se relanza la excepción original para que GlobalExceptionHandler la trate igual que sin coalescencia
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void guardarEnCache(String clave, Object valor, long generacionConsulta) {
+        if (duracionCacheNanos <= 0 || generacion.get() != generacionConsulta) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        if (cache.size() >= MAXIMO_ENTRADAS_CACHE) {
+            cache.values().removeIf(entrada -> !entrada.esValida(generacionConsulta, ahora));
+            if (cache.size() >= MAXIMO_ENTRADAS_CACHE) {
+                return;
+            }
+        }
+        cache.put(clave, new EntradaCache(valor, generacionConsulta, ahora + duracionCacheNanos));
+    }
+
+
+    private record Clave(String clave, long generacion) {
+    }
+
+    private record EntradaCache(Object valor, long generacion, long expiraNanos) {
+
+        boolean esValida(long generacionActual) {
+            return esValida(generacionActual, System.nanoTime());
+        }
+
+        boolean esValida(long generacionActual, long ahora) {
+            return generacion == generacionActual && ahora - expiraNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.dto.CandidatoDuplicado;
+import com.example.docentesapi.dto.ParDuplicado;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.repository.DocenteRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+
+/**
+ * Busca docentes registrados más de una vez con distinto email.
+ * <p>
+ * Los docentes se leen en streaming ordenados por fecha de nacimiento; para cada ciudad se mantiene una
+ * ventana con los docentes nacidos en los últimos {@code duplicados.ventana-dias} días, y cada docente
+ * leído se compara con los de su ventana. Así una fecha mal digitada por unos días no impide encontrar el
+ * duplicado, y el número de comparaciones crece con el tamaño de la ventana y no con el de la tabla.
+ * Las particiones se leen a la vez y las comparaciones se agrupan en tareas que se ejecutan en un
+ * {@link ForkJoinPool} mientras la lectura continúa.
+ */
+@Component
+public class DetectorDuplicados {
+
+    private static final int COMPARACIONES_POR_TAREA = 20_000;
+    private static final int TAREAS_EN_CURSO_POR_HILO = 4;
+
+    private final DocenteRepository docenteRepository;
+    private final Particiones particiones;
+    private final double umbralSimilitud;
+    private final int ventanaDias;
+    private final ForkJoinPool pool;
+
+
+    @Autowired
+    public DetectorDuplicados(DocenteRepository docenteRepository,
+                              Particiones particiones,
+                              @Value("${duplicados.umbral-similitud:0.90}") double umbralSimilitud,
+                              @Value("${duplicados.ventana-dias:31}") int ventanaDias,
+                              @Value("${duplicados.paralelismo:0}") int paralelismo) {
+        this.docenteRepository = docenteRepository;
+        this.particiones = particiones;
+        this.umbralSimilitud = umbralSimilitud;
+        this.ventanaDias = ventanaDias;
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Entrega a {@code salida} cada par con similitud mayor o igual al umbral. {@code salida} se invoca
+     * desde varios hilos a la vez.
+     */
+    public void detectar(ReporteJob job, Consumer<ParDuplicado> salida) {
+        long total = particiones.enTodas(true, particion -> docenteRepository.count()).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        // Cada docente avanza dos veces: al leerlo y al terminar de compararlo con su ventana
+        job.iniciar(total * 2);
+
+        Ejecucion ejecucion = new Ejecucion(job, salida);
+        try {
+            // Cada partición se lee en su propio hilo; todas comparten el pool y el límite de tareas pendientes
+            particiones.enTodas(true, particion -> {
+                try {
+                    leerParticion(ejecucion);
+                } catch (Throwable e) {
+                    // Detiene la lectura de las demás particiones en su próximo envío
+                    ejecucion.fallar(e);
+                    ejecucion.comprobarError();
+                }
+                return null;
+            });
+        } finally {
+            ejecucion.esperar();
+        }
+        ejecucion.comprobarError();
+    }
+
+
+    @PreDestroy
+    public void cerrar() {
+        pool.shutdownNow();
+    }
+
+
+    private void leerParticion(Ejecucion ejecucion) {
+        // Cada ciudad vive en una sola partición, así que las ventanas no necesitan cruzar particiones
+        Map<String, ArrayDeque<Candidato>> ventanas = new HashMap<>();
+        List<Comparacion> tarea = new ArrayList<>();
+        long comparacionesTarea = 0;
+
+        try (Stream<CandidatoDuplicado> candidatos = docenteRepository.streamCandidatosDuplicados()) {
+            Iterator<CandidatoDuplicado> iterador = candidatos.iterator();
+            while (iterador.hasNext()) {
+                CandidatoDuplicado leido = iterador.next();
+                Candidato candidato = new Candidato(
+                        leido.idDocente(),
+                        leido.nomDocente(),
+                        SimilitudNombres.normalizar(leido.nomDocente()),
+                        leido.ciuDocente(),
+                        leido.fecNacimiento());
+                ejecucion.job.avanzar();
+
+                ArrayDeque<Candidato> ventana = ventanas.computeIfAbsent(
+                        Particiones.normalizarCiudad(leido.ciuDocente()), ciudad -> new ArrayDeque<>());
+                LocalDate inicioVentana = candidato.fecNacimiento().minusDays(ventanaDias);
+                while (!ventana.isEmpty() && ventana.peekFirst().fecNacimiento().isBefore(inicioVentana)) {
+                    ventana.pollFirst();
+                }
+
+                if (ventana.isEmpty()) {
+                    ejecucion.job.avanzar();
+                } else {
+                    tarea.add(new Comparacion(candidato, List.copyOf(ventana)));
+                    comparacionesTarea += ventana.size();
+                    if (comparacionesTarea >= COMPARACIONES_POR_TAREA) {
+                        ejecucion.enviar(tarea);
+                        tarea = new ArrayList<>();
+                        comparacionesTarea = 0;
+                    }
+                }
+                ventana.addLast(candidato);
+            }
+        }
+        ejecucion.enviar(tarea);
+    }
+
+
+    private record Candidato(long idDocente, String nomDocente, SimilitudNombres.Nombre nombre,
+                             String ciuDocente, LocalDate fecNacimiento) {
+    }
+
+    /**
+     * Un docente y los de su ventana que se leyeron antes que él.
+     */
+    private record Comparacion(Candidato candidato, List<Candidato> anteriores) {
+    }
+
+
+    /**
+     * Estado de una detección: limita las tareas pendientes para que la lectura no adelante demasiado
+     * a las comparaciones y guarda el primer error, tras el cual las tareas dejan de entregar pares.
+     */
+    private final class Ejecucion {
+
+        private final ReporteJob job;
+        private final Consumer<ParDuplicado> salida;
+        private final int maximoTareas = pool.getParallelism() * TAREAS_EN_CURSO_POR_HILO;
+        private final Semaphore permisos = new Semaphore(maximoTareas);
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        Ejecucion(ReporteJob job, Consumer<ParDuplicado> salida) {
+            this.job = job;
+            this.salida = salida;
+        }
+
+        void enviar(List<Comparacion> tarea) {
+            if (tarea.isEmpty()) {
+                return;
+            }
+            comprobarError();
+            permisos.acquireUninterruptibly();
+            pool.execute(() -> {
+                try {
+                    for (Comparacion comparacion : tarea) {
+                        comparar(comparacion);
+                    }
+                    job.avanzar(tarea.size());
+                } catch (Throwable e) {
+                    fallar(e);
+                } finally {
+                    permisos.release();
+                }
+            });
+        }
+
+        private void comparar(Comparacion comparacion) {
+            Candidato b = comparacion.candidato();
+            for (Candidato a : comparacion.anteriores()) {
+                if (error.get() != null) {
+                    return;
+                }
+                double similitud = SimilitudNombres.similitud(a.nombre(), b.nombre(), umbralSimilitud);
+                if (similitud >= umbralSimilitud) {
+                    salida.accept(new ParDuplicado(
+                            a.idDocente(), a.nomDocente(), b.idDocente(), b.nomDocente(),
+                            a.ciuDocente(), a.fecNacimiento(), b.fecNacimiento(),
+                            Math.round(similitud * 10000.0) / 10000.0));
+                }
+            }
+        }
+
+        void esperar() {
+            permisos.acquireUninterruptibly(maximoTareas);
+            permisos.release(maximoTareas);
+        }
+
+        void fallar(Throwable e) {
+            error.compareAndSet(null, e);
+        }
+
+        // Los Error se envuelven para que quien genera el reporte lo marque como fallido
+        void comprobarError() {
+            Throwable primerError = error.get();
+            if (primerError instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (primerError != null) {
+                throw new IllegalStateException("Error detectando duplicados: " + primerError, primerError);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.exception.DocenteNotFoundException;
+import com.example.docentesapi.exception.EmailAlreadyExistsException;
+import com.example.docentesapi.repository.DocenteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+@ConditionalOnProperty(name = "particion.habilitada", havingValue = "false", matchIfMissing = true)
+public class DocenteServiceImpl implements DocenteService {
+
+    private final DocenteRepository docenteRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+
+    @Autowired
+    public DocenteServiceImpl(DocenteRepository docenteRepository, ApplicationEventPublisher eventPublisher) {
+        this.docenteRepository = docenteRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Docente> obtenerTodosLosDocentes(Pageable pageable) {
+        return docenteRepository.findAllOrderByNombre(pageable);
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Docente> obtenerTodosLosDocentes() {
+        return docenteRepository.findAll();
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public long contarDocentes() {
+        return docenteRepository.count();
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Docente obtenerDocentePorId(Long id) {
+        return docenteRepository.findById(id)
+                .orElseThrow(() -> new DocenteNotFoundException("Docente no encontrado con ID: " + id));
+    }
+
+
+    @Override
+    public Docente crearDocente(Docente docente) {
+        if (docenteRepository.existsByEmailDocente(docente.getEmailDocente())) {
+            throw new EmailAlreadyExistsException("Ya existe un docente con el email: " + docente.getEmailDocente());
+        }
+        ValidadorDocente.validarFechaNacimiento(docente.getFecNacimiento());
+
+        // Validar tiempo de servicio
+        ValidadorDocente.validarTiempoServicio(docente.getTiempoServicio(), docente.getFecNacimiento());
+        Docente nuevoDocente = docenteRepository.save(docente);
+        eventPublisher.publishEvent(new DocentesModificadosEvent(nuevoDocente.getIdDocente()));
+        return nuevoDocente;
+    }
+
+
+    @Override
+    public Docente actualizarDocente(Long id, Docente docenteActualizado) {
+        Docente docenteExistente = obtenerDocentePorId(id);
+
+        if (docenteRepository.existsByEmailDocenteAndIdDocenteNot(docenteActualizado.getEmailDocente(), id)) {
+            throw new EmailAlreadyExistsException("Ya existe otro docente con el email: " + docenteActualizado.getEmailDocente());
+        }
+        // Validar fecha de nacimiento
+        ValidadorDocente.validarFechaNacimiento(docenteActualizado.getFecNacimiento());
+
+        // Validar tiempo de servicio
+        ValidadorDocente.validarTiempoServicio(docenteActualizado.getTiempoServicio(), docenteActualizado.getFecNacimiento());
+        docenteExistente.setNomDocente(docenteActualizado.getNomDocente());
+        docenteExistente.setDirDocente(docenteActualizado.getDirDocente());
+        docenteExistente.setCiuDocente(docenteActualizado.getCiuDocente());
+        docenteExistente.setEmailDocente(docenteActualizado.getEmailDocente());
+        docenteExistente.setFecNacimiento(docenteActualizado.getFecNacimiento());
+        docenteExistente.setTiempoServicio(docenteActualizado.getTiempoServicio());
+
+        Docente docenteGuardado = docenteRepository.save(docenteExistente);
+        eventPublisher.publishEvent(new DocentesModificadosEvent(id));
+        return docenteGuardado;
+    }
+
+
+    @Override
+    public void eliminarDocente(Long id) {
+        if (!docenteRepository.existsById(id)) {
+            throw new DocenteNotFoundException("No se puede eliminar. Docente no encontrado con ID: " + id);
+        }
+
+        docenteRepository.deleteById(id);
+        eventPublisher.publishEvent(new DocentesModificadosEvent(id));
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Docente> obtenerDocentesPorCiudad(String ciudad) {
+        List<Docente> docentes = docenteRepository.findByCiuDocente(ciudad);
+
+        if (docentes.isEmpty()) {
+            throw new DocenteNotFoundException("No se encontraron docentes en la ciudad: " + ciudad);
+        }
+
+        return docentes;
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Docente> obtenerDocentesPorExperiencia(Integer anosMinimos) {
+        if (anosMinimos < 0) {
+            throw new IllegalArgumentException("Los años de experiencia no pueden ser negativos");
+        }
+
+        List<Docente> docentes = docenteRepository.findByExperienciaMinima(anosMinimos);
+
+        if (docentes.isEmpty()) {
+            throw new DocenteNotFoundException("No se encontraron docentes con al menos " + anosMinimos + " años de experiencia");
+        }
+
+        return docentes;
+    }
+
+
+    @Override
+    @Transactional(readOnly = true)
+    public Double calcularEdadPromedio() {
+        long totalDocentes = docenteRepository.count();
+
+        if (totalDocentes == 0) {
+            throw new DocenteNotFoundException("No hay docentes registrados para calcular la edad promedio");
+        }
+
+        Double edadPromedio = docenteRepository.calcularEdadPromedio();
+
+        return edadPromedio != null ? Math.round(edadPromedio * 100.0) / 100.0 : 0.0;
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.exception.DocenteNotFoundException;
+import com.example.docentesapi.exception.EmailAlreadyExistsException;
+import com.example.docentesapi.exception.PaginaNoDisponibleException;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.repository.DocenteRepository;
+import com.example.docentesapi.repository.RegistroEmailRepository;
+import com.example.docentesapi.repository.RegistroIdRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * {@link DocenteService} para el modo particionado ({@code particion.habilitada=true}).
+ * <p>
+ * Las operaciones por ciudad o por ID van a una sola partición; los listados y la edad promedio se consultan
+ * en paralelo en todas y se combinan aquí. Los IDs los asigna {@link RegistroIdRepository} en la partición 0,
+ * que también indica en qué partición está cada docente, así que un docente conserva su ID al cambiar de ciudad. Esta clase no debe llevar {@code @Transactional}: una transacción
+ * abierta en el hilo de la petición retendría una conexión de la partición 0 mientras cada partición abre la suya.
+ */
+@Service
+@ConditionalOnProperty(name = "particion.habilitada", havingValue = "true")
+public class DocenteServiceParticionado implements DocenteService {
+
+    private static final int PARTICION_REGISTRO = 0;
+
+    // Mismo orden que findAllOrderByNomOrden en cada partición; si difiriera, la mezcla perdería filas en los cortes
+    private static final Comparator<Docente> ORDEN_NOMBRE = Comparator
+            .comparing(Docente::getNomOrden, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Docente::getIdDocente);
+
+    private static final Comparator<Docente> ORDEN_EXPERIENCIA = Comparator
+            .comparing(Docente::getTiempoServicio, Comparator.reverseOrder())
+            .thenComparing(Docente::getIdDocente);
+
+    private final DocenteRepository docenteRepository;
+    private final RegistroEmailRepository registroEmailRepository;
+    private final RegistroIdRepository registroIdRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Particiones particiones;
+    private final int maxFilasListado;
+
+
+    @Autowired
+    public DocenteServiceParticionado(DocenteRepository docenteRepository,
+                                      RegistroEmailRepository registroEmailRepository,
+                                      RegistroIdRepository registroIdRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      Particiones particiones,
+                                      @Value("${particion.max-filas-listado:10000}") int maxFilasListado) {
+        this.docenteRepository = docenteRepository;
+        this.registroEmailRepository = registroEmailRepository;
+        this.registroIdRepository = registroIdRepository;
+        this.eventPublisher = eventPublisher;
+        this.particiones = particiones;
+        this.maxFilasListado = maxFilasListado;
+    }
+
+
+    @Override
+    public Page<Docente> obtenerTodosLosDocentes(Pageable pageable) {
+        // Cada partición aporta sus primeros offset + size docentes; la página global está entre ellos.
+        // Se limita porque esas filas se cargan y ordenan en memoria por cada partición
+        long filas = pageable.getOffset() + pageable.getPageSize();
+        if (filas > maxFilasListado) {
+            throw new PaginaNoDisponibleException("En modo particionado el listado solo alcanza los primeros "
+                    + maxFilasListado + " docentes; reduzca page o size");
+        }
+        int limite = (int) filas;
+
+        List<Page<Docente>> paginas = particiones.enTodas(true,
+                particion -> docenteRepository.findAllOrderByNomOrden(PageRequest.of(0, limite)));
+
+        long totalElementos = paginas.stream().mapToLong(Page::getTotalElements).sum();
+        List<Docente> contenido = paginas.stream()
+                .flatMap(pagina -> pagina.getContent().stream())
+                .sorted(ORDEN_NOMBRE)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+
+        return new PageImpl<>(contenido, pageable, totalElementos);
+    }
+
+
+    @Override
+    public List<Docente> obtenerTodosLosDocentes() {
+        return particiones.enTodas(true, particion -> docenteRepository.findAll()).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+
+    @Override
+    public long contarDocentes() {
+        return particiones.enTodas(true, particion -> docenteRepository.count()).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+
+    @Override
+    public Docente obtenerDocentePorId(Long id) {
+        String mensaje = "Docente no encontrado con ID: " + id;
+        int particion = particionDeId(id, mensaje);
+
+        return particiones.enParticion(particion, true, () -> docenteRepository.findById(id))
+                .orElseThrow(() -> new DocenteNotFoundException(mensaje));
+    }
+
+
+    @Override
+    public Docente crearDocente(Docente docente) {
+        ValidadorDocente.validarFechaNacimiento(docente.getFecNacimiento());
+        ValidadorDocente.validarTiempoServicio(docente.getTiempoServicio(), docente.getFecNacimiento());
+
+        reservarEmail(docente.getEmailDocente(), "Ya existe un docente con el email: ");
+
+        int particion = particiones.particionDeCiudad(docente.getCiuDocente());
+
+        Long id = null;
+        try {
+            id = particiones.enParticion(PARTICION_REGISTRO, false, () -> registroIdRepository.registrar(particion));
+            docente.setIdDocente(id);
+            insertar(particion, docente);
+        } catch (RuntimeException e) {
+            if (id != null) {
+                liberarId(id);
+            }
+            liberarEmail(docente.getEmailDocente());
+            throw e;
+        }
+
+        eventPublisher.publishEvent(new DocentesModificadosEvent(id));
+        return docente;
+    }
+
+
+    /**
+     * Si la nueva ciudad pertenece a otra partición, el docente se mueve a ella con el mismo ID.
+     */
+    @Override
+    public Docente actualizarDocente(Long id, Docente docenteActualizado) {
+        String mensaje = "Docente no encontrado con ID: " + id;
+        int origen = particionDeId(id, mensaje);
+        Docente docenteExistente = particiones.enParticion(origen, true, () -> docenteRepository.findById(id))
+                .orElseThrow(() -> new DocenteNotFoundException(mensaje));
+
+        String emailAnterior = docenteExistente.getEmailDocente();
+        String emailNuevo = docenteActualizado.getEmailDocente();
+        boolean cambiaEmail = !emailAnterior.equalsIgnoreCase(emailNuevo);
+
+        if (cambiaEmail) {
+            reservarEmail(emailNuevo, "Ya existe otro docente con el email: ");
+        }
+
+        Docente docenteGuardado;
+        try {
+            ValidadorDocente.validarFechaNacimiento(docenteActualizado.getFecNacimiento());
+            ValidadorDocente.validarTiempoServicio(docenteActualizado.getTiempoServicio(), docenteActualizado.getFecNacimiento());
+
+            int destino = particiones.particionDeCiudad(docenteActualizado.getCiuDocente());
+            docenteGuardado = origen == destino
+                    ? actualizarEnParticion(id, origen, docenteActualizado)
+                    : moverDeParticion(id, origen, destino, docenteActualizado);
+        } catch (RuntimeException e) {
+            if (cambiaEmail) {
+                liberarEmail(emailNuevo);
+            }
+            throw e;
+        }
+
+        if (cambiaEmail) {
+            liberarEmail(emailAnterior);
+        }
+        eventPublisher.publishEvent(new DocentesModificadosEvent(id));
+        return docenteGuardado;
+    }
+
+
+    @Override
+    public void eliminarDocente(Long id) {
+        String mensaje = "No se puede eliminar. Docente no encontrado con ID: " + id;
+        int particion = particionDeId(id, mensaje);
+
+        String email = particiones.enParticion(particion, false, () -> {
+            Docente docente = docenteRepository.findById(id)
+                    .orElseThrow(() -> new DocenteNotFoundException(mensaje));
+            docenteRepository.delete(docente);
+            return docente.getEmailDocente();
+        });
+
+        liberarId(id);
+        liberarEmail(email);
+        eventPublisher.publishEvent(new DocentesModificadosEvent(id));
+    }
+
+
+    @Override
+    public List<Docente> obtenerDocentesPorCiudad(String ciudad) {
+        int particion = particiones.particionDeCiudad(ciudad);
+        List<Docente> docentes = particiones.enParticion(particion, true, () -> docenteRepository.findByCiuDocente(ciudad));
+
+        if (docentes.isEmpty()) {
+            throw new DocenteNotFoundException("No se encontraron docentes en la ciudad: " + ciudad);
+        }
+
+        return docentes;
+    }
+
+
+    @Override
+    public List<Docente> obtenerDocentesPorExperiencia(Integer anosMinimos) {
+        if (anosMinimos < 0) {
+            throw new IllegalArgumentException("Los años de experiencia no pueden ser negativos");
+        }
+
+        List<Docente> docentes = particiones.enTodas(true,
+                        particion -> docenteRepository.findByExperienciaMinima(anosMinimos)).stream()
+                .flatMap(List::stream)
+                .sorted(ORDEN_EXPERIENCIA)
+                .toList();
+
+        if (docentes.isEmpty()) {
+            throw new DocenteNotFoundException("No se encontraron docentes con al menos " + anosMinimos + " años de experiencia");
+        }
+
+        return docentes;
+    }
+
+
+    @Override
+    public Double calcularEdadPromedio() {
+        // Se combinan sumas y conteos; promediar los promedios de cada partición daría un resultado incorrecto
+        List<long[]> parciales = particiones.enTodas(true, particion -> {
+            long total = docenteRepository.count();
+            Long sumaEdades = total > 0 ? docenteRepository.sumarEdades() : null;
+            return new long[]{total, sumaEdades != null ? sumaEdades : 0L};
+        });
+
+        long totalDocentes = parciales.stream().mapToLong(parcial -> parcial[0]).sum();
+        long sumaEdades = parciales.stream().mapToLong(parcial -> parcial[1]).sum();
+
+        if (totalDocentes == 0) {
+            throw new DocenteNotFoundException("No hay docentes registrados para calcular la edad promedio");
+        }
+
+        return Math.round((double) sumaEdades / totalDocentes * 100.0) / 100.0;
+    }
+
+
+    private Docente actualizarEnParticion(Long id, int particion, Docente docenteActualizado) {
+        return particiones.enParticion(particion, false, () -> {
+            Docente docente = docenteRepository.findById(id)
+                    .orElseThrow(() -> new DocenteNotFoundException("Docente no encontrado con ID: " + id));
+            copiarDatos(docenteActualizado, docente);
+            return docenteRepository.save(docente);
+        });
+    }
+
+    /**
+     * Copia el docente a la partición destino, apunta su ID a ella en el registro y lo borra del origen.
+     * Si un paso falla se deshacen los anteriores.
+     */
+    private Docente moverDeParticion(Long id, int origen, int destino, Docente docenteActualizado) {
+        Docente copia = new Docente();
+        copiarDatos(docenteActualizado, copia);
+        copia.setIdDocente(id);
+
+        insertar(destino, copia);
+        try {
+            particiones.enParticion(PARTICION_REGISTRO, false, () -> {
+                registroIdRepository.mover(id, destino);
+                return null;
+            });
+            try {
+                eliminar(origen, id);
+            } catch (RuntimeException e) {
+                particiones.enParticion(PARTICION_REGISTRO, false, () -> {
+                    registroIdRepository.mover(id, origen);
+                    return null;
+                });
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            eliminar(destino, id);
+            throw e;
+        }
+        return copia;
+    }
+
+    private void insertar(int particion, Docente docente) {
+        particiones.enParticion(particion, false, () -> {
+            docenteRepository.insertarConId(docente);
+            return null;
+        });
+    }
+
+    private void eliminar(int particion, Long id) {
+        particiones.enParticion(particion, false, () -> {
+            docenteRepository.deleteById(id);
+            return null;
+        });
+    }
+
+    private int particionDeId(Long id, String mensajeNoEncontrado) {
+        // Los IDs del registro empiezan en 1; cualquier otro valor no existe y no debe llegar a la base
+        if (id == null || id <= 0) {
+            throw new DocenteNotFoundException(mensajeNoEncontrado);
+        }
+        return particiones.enParticion(PARTICION_REGISTRO, true, () -> registroIdRepository.buscarParticion(id))
+                .orElseThrow(() -> new DocenteNotFoundException(mensajeNoEncontrado));
+    }
+
+    private void copiarDatos(Docente origen, Docente destino) {
+        destino.setNomDocente(origen.getNomDocente());
+        destino.setDirDocente(origen.getDirDocente());
+        destino.setCiuDocente(origen.getCiuDocente());
+        destino.setEmailDocente(origen.getEmailDocente());
+        destino.setFecNacimiento(origen.getFecNacimiento());
+        destino.setTiempoServicio(origen.getTiempoServicio());
+    }
+
+    private void reservarEmail(String email, String mensaje) {
+        try {
+            particiones.enParticion(PARTICION_REGISTRO, false, () -> {
+                registroEmailRepository.registrar(email);
+                return null;
+            });
+        } catch (DuplicateKeyException e) {
+            throw new EmailAlreadyExistsException(mensaje + email);
+        }
+    }
+
+    private void liberarEmail(String email) {
+        particiones.enParticion(PARTICION_REGISTRO, false, () -> {
+            registroEmailRepository.eliminar(email);
+            return null;
+        });
+    }
+
+    private void liberarId(long id) {
+        particiones.enParticion(PARTICION_REGISTRO, false, () -> {
+            registroIdRepository.eliminar(id);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.docentesapi.service;
+
+/**
+ * Se publica cada vez que se crea, actualiza o elimina un docente.
+ */
+public record DocentesModificadosEvent(Long idDocente) {
+}
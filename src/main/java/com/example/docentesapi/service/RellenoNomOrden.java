@@ -0,0 +1,59 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.repository.DocenteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+
+/**
+ * Completa {@code nom_orden} en las filas creadas antes de que existiera la columna: en una base existente
+ * {@code ddl-auto=update} (o {@link com.example.docentesapi.particion.EsquemaParticion} en el modo particionado)
+ * la agrega vacía, y esas filas quedarían al inicio del listado paginado del modo particionado.
+ */
+@Component
+public class RellenoNomOrden {
+
+    private static final Logger log = LoggerFactory.getLogger(RellenoNomOrden.class);
+    private static final int TAMANO_LOTE = 500;
+
+    private final DocenteRepository docenteRepository;
+    private final Particiones particiones;
+
+
+    @Autowired
+    public RellenoNomOrden(DocenteRepository docenteRepository, Particiones particiones) {
+        this.docenteRepository = docenteRepository;
+        this.particiones = particiones;
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rellenar() {
+        for (int particion = 0; particion < particiones.total(); particion++) {
+            long completados = 0;
+            int lote;
+            do {
+                // Una transacción por lote; claveDeOrden nunca devuelve null, así que cada lote avanza
+                lote = particiones.enParticion(particion, false, () -> {
+                    List<Docente> pendientes = docenteRepository.findByNomOrdenIsNull(PageRequest.of(0, TAMANO_LOTE));
+                    pendientes.forEach(docente -> docente.setNomDocente(docente.getNomDocente()));
+                    return pendientes.size();
+                });
+                completados += lote;
+            } while (lote == TAMANO_LOTE);
+
+            if (completados > 0) {
+                log.info("nom_orden completado en {} docentes de la partición {}", completados, particion);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.dto.FormatoReporte;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.ResumenCiudad;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.repository.DocenteRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Escribe el contenido de un reporte en disco. Se ejecuta en los hilos de {@code reporteExecutor},
+ * nunca en un hilo de petición.
+ */
+@Component
+public class ReporteGenerador {
+
+    private static final List<String> COLUMNAS_DOCENTE = List.of(
+            "idDocente", "nomDocente", "dirDocente", "ciuDocente", "emailDocente", "fecNacimiento", "tiempoServicio");
+
+    private static final List<String> COLUMNAS_DUPLICADOS = List.of(
+            "idDocente", "nomDocente", "idDuplicado", "nomDuplicado", "ciudad", "fecNacimiento",
+            "fecNacimientoDuplicado", "similitud");
+
+    private final DocenteRepository docenteRepository;
+    private final ObjectMapper objectMapper;
+    private final Particiones particiones;
+    private final DetectorDuplicados detectorDuplicados;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+
+    @Autowired
+    public ReporteGenerador(DocenteRepository docenteRepository, ObjectMapper objectMapper,
+                            Particiones particiones, DetectorDuplicados detectorDuplicados) {
+        this.docenteRepository = docenteRepository;
+        this.objectMapper = objectMapper;
+        this.particiones = particiones;
+        this.detectorDuplicados = detectorDuplicados;
+    }
+
+
+    public void generar(ReporteJob job, Path destino) throws IOException {
+        SolicitudReporte solicitud = job.getSolicitud();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            switch (solicitud.tipo()) {
+                case EXPORTACION_DOCENTES -> exportarDocentes(job, solicitud, writer);
+                case RESUMEN_CIUDADES -> escribirFilas(job, solicitud.formato(), writer, resumenCiudades());
+                case DISTRIBUCION_EXPERIENCIA -> escribirFilas(job, solicitud.formato(), writer, distribucionExperiencia());
+                case DUPLICADOS_PROBABLES -> detectarDuplicados(job, solicitud.formato(), writer);
+            }
+        }
+    }
+
+
+    private void exportarDocentes(ReporteJob job, SolicitudReporte solicitud, BufferedWriter writer) throws IOException {
+        String ciudad = solicitud.ciudad();
+        // Una ciudad está en una sola partición; la exportación completa las recorre una tras otra
+        List<Integer> particionesALeer = ciudad != null
+                ? List.of(particiones.particionDeCiudad(ciudad))
+                : IntStream.range(0, particiones.total()).boxed().toList();
+
+        long total = 0;
+        for (int particion : particionesALeer) {
+            total += particiones.enParticion(particion, true,
+                    () -> ciudad != null ? docenteRepository.countByCiuDocente(ciudad) : docenteRepository.count());
+        }
+        job.iniciar(total);
+
+        if (solicitud.formato() == FormatoReporte.CSV) {
+            escribirCsv(writer, COLUMNAS_DOCENTE);
+        }
+
+        try {
+            for (int particion : particionesALeer) {
+                particiones.enParticion(particion, true, () -> {
+                    exportarParticion(job, solicitud, writer);
+                    return null;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportarParticion(ReporteJob job, SolicitudReporte solicitud, BufferedWriter writer) {
+        String ciudad = solicitud.ciudad();
+
+        try (Stream<Docente> docentes = ciudad != null
+                ? docenteRepository.streamByCiuDocente(ciudad)
+                : docenteRepository.streamAll()) {
+
+            docentes.forEach(docente -> {
+                // Sin detach el contexto de persistencia retendría todas las filas leídas
+                entityManager.detach(docente);
+                try {
+                    if (solicitud.formato() == FormatoReporte.CSV) {
+                        escribirCsv(writer, Arrays.asList(
+                                docente.getIdDocente(), docente.getNomDocente(), docente.getDirDocente(),
+                                docente.getCiuDocente(), docente.getEmailDocente(), docente.getFecNacimiento(),
+                                docente.getTiempoServicio()));
+                    } else {
+                        escribirNdjson(writer, docente);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                job.avanzar();
+            });
+        }
+    }
+
+    private void detectarDuplicados(ReporteJob job, FormatoReporte formato, BufferedWriter writer) throws IOException {
+        if (formato == FormatoReporte.CSV) {
+            escribirCsv(writer, COLUMNAS_DUPLICADOS);
+        }
+
+        try {
+            // Los pares llegan desde varios hilos del pool; cada línea se escribe completa
+            detectorDuplicados.detectar(job, par -> {
+                synchronized (writer) {
+                    try {
+                        if (formato == FormatoReporte.CSV) {
+                            escribirCsv(writer, Arrays.asList(
+                                    par.idDocente(), par.nomDocente(), par.idDuplicado(), par.nomDuplicado(),
+                                    par.ciudad(), par.fecNacimiento(), par.fecNacimientoDuplicado(), par.similitud()));
+                        } else {
+                            escribirNdjson(writer, par);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private List<Map<String, Object>> resumenCiudades() {
+        // Cada ciudad está en una sola partición, así que basta con unir y ordenar los resúmenes
+        Collator collator = Collator.getInstance(Locale.forLanguageTag("es"));
+        collator.setStrength(Collator.PRIMARY);
+
+        return particiones.enTodas(true, particion -> docenteRepository.resumenPorCiudad().stream()
+                        .map(this::aFila)
+                        .toList())
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(fila -> (String) fila.get("ciudad"), collator))
+                .toList();
+    }
+
+    private List<Map<String, Object>> distribucionExperiencia() {
+        Map<Integer, Long> totales = new TreeMap<>();
+        particiones.enTodas(true, particion -> docenteRepository.distribucionExperiencia()).stream()
+                .flatMap(List::stream)
+                .forEach(distribucion -> totales.merge(
+                        distribucion.getTiempoServicio(), distribucion.getTotalDocentes(), Long::sum));
+
+        return totales.entrySet().stream()
+                .map(entrada -> aFila(entrada.getKey(), entrada.getValue()))
+                .toList();
+    }
+
+    private Map<String, Object> aFila(ResumenCiudad resumen) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("ciudad", resumen.getCiudad());
+        fila.put("totalDocentes", resumen.getTotalDocentes());
+        fila.put("edadPromedio", redondear(resumen.getEdadPromedio()));
+        fila.put("experienciaPromedio", redondear(resumen.getExperienciaPromedio()));
+        fila.put("experienciaMaxima", resumen.getExperienciaMaxima());
+        return fila;
+    }
+
+    private Map<String, Object> aFila(Integer tiempoServicio, Long totalDocentes) {
+        Map<String, Object> fila = new LinkedHashMap<>();
+        fila.put("tiempoServicio", tiempoServicio);
+        fila.put("totalDocentes", totalDocentes);
+        return fila;
+    }
+
+    private void escribirFilas(ReporteJob job, FormatoReporte formato, BufferedWriter writer,
+                               List<Map<String, Object>> filas) throws IOException {
+        job.iniciar(filas.size());
+
+        if (formato == FormatoReporte.CSV && !filas.isEmpty()) {
+            escribirCsv(writer, new ArrayList<>(filas.get(0).keySet()));
+        }
+        for (Map<String, Object> fila : filas) {
+            if (formato == FormatoReporte.CSV) {
+                escribirCsv(writer, new ArrayList<>(fila.values()));
+            } else {
+                escribirNdjson(writer, fila);
+            }
+            job.avanzar();
+        }
+    }
+
+    private void escribirNdjson(BufferedWriter writer, Object valor) throws IOException {
+        writer.write(objectMapper.writeValueAsString(valor));
+        writer.newLine();
+    }
+
+    private void escribirCsv(BufferedWriter writer, List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escaparCsv(valores.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escaparCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+
+    private Double redondear(Double valor) {
+        return valor != null ? Math.round(valor * 100.0) / 100.0 : null;
+    }
+}
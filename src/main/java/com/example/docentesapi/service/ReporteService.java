@@ -0,0 +1,191 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.dto.EstadoReporte;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.exception.ReporteNoDisponibleException;
+import com.example.docentesapi.exception.ReporteNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Gestiona los reportes asíncronos: los encola en {@code reporteExecutor}, guarda su progreso
+ * y reutiliza el resultado de solicitudes idénticas mientras no haya expirado.
+ */
+@Service
+public class ReporteService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReporteService.class);
+
+    private final ReporteGenerador reporteGenerador;
+    private final ThreadPoolTaskExecutor reporteExecutor;
+    private final Path directorio;
+    private final Duration duracionCache;
+    private final Duration graciaDescarga;
+
+    private final Map<String, ReporteJob> reportes = new ConcurrentHashMap<>();
+    private final Map<SolicitudReporte, ReporteJob> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+
+
+    @Autowired
+    public ReporteService(ReporteGenerador reporteGenerador,
+                          @Qualifier("reporteExecutor") ThreadPoolTaskExecutor reporteExecutor,
+                          @Value("${reportes.directorio:${java.io.tmpdir}/docentesapi-reportes}") Path directorio,
+                          @Value("${reportes.cache.duracion:PT10M}") Duration duracionCache,
+                          @Value("${reportes.limpieza.gracia-descarga:PT5M}") Duration graciaDescarga) throws IOException {
+        this.reporteGenerador = reporteGenerador;
+        this.reporteExecutor = reporteExecutor;
+        this.directorio = Files.createDirectories(directorio);
+        this.duracionCache = duracionCache;
+        this.graciaDescarga = graciaDescarga;
+    }
+
+
+    public ReporteJob solicitarReporte(SolicitudReporte solicitud) {
+        ReporteJob[] nuevo = new ReporteJob[1];
+
+        ReporteJob job = cache.compute(solicitud, (clave, existente) -> {
+            if (existente != null && esReutilizable(existente)) {
+                return existente;
+            }
+            // El reporte reemplazado sigue consultable hasta que lo elimine limpiarReportesExpirados()
+            nuevo[0] = new ReporteJob(clave, generacion.get());
+            reportes.put(nuevo[0].getId(), nuevo[0]);
+            return nuevo[0];
+        });
+
+        if (nuevo[0] != null) {
+            encolar(nuevo[0]);
+        }
+        return job;
+    }
+
+
+    public ReporteJob obtenerReporte(String id) {
+        ReporteJob job = reportes.get(id);
+        if (job == null) {
+            throw new ReporteNotFoundException("Reporte no encontrado con ID: " + id);
+        }
+        return job;
+    }
+
+
+    public Path obtenerArchivo(String id) {
+        ReporteJob job = obtenerReporte(id);
+
+        if (job.getEstado() != EstadoReporte.COMPLETADO) {
+            throw new ReporteNoDisponibleException(
+                    "El reporte " + id + " aún no está disponible (estado: " + job.getEstado() + ")");
+        }
+        if (!Files.isReadable(job.getArchivo())) {
+            throw new ReporteNoDisponibleException("El archivo del reporte " + id + " ya no existe");
+        }
+        job.registrarDescarga();
+        return job.getArchivo();
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidarCache(DocentesModificadosEvent event) {
+        // Los reportes en curso también quedan descartados: pueden haber leído datos anteriores al cambio
+        generacion.incrementAndGet();
+        cache.clear();
+    }
+
+
+    /**
+     * Elimina los reportes terminados cuya vigencia expiró, junto con sus archivos. Los descargados hace menos de
+     * {@code reportes.limpieza.gracia-descarga} se conservan: con sendfile Tomcat abre el archivo después de que
+     * el controlador retorna, y no hay forma de saber cuándo termina de enviarlo.
+     */
+    @Scheduled(fixedDelayString = "${reportes.limpieza.intervalo:PT1M}")
+    public void limpiarReportesExpirados() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime limite = ahora.minus(duracionCache);
+        LocalDateTime limiteDescarga = ahora.minus(graciaDescarga);
+
+        reportes.values().removeIf(job -> {
+            if (job.isActivo() || job.getFechaFin().isAfter(limite)) {
+                return false;
+            }
+            LocalDateTime ultimaDescarga = job.getUltimaDescarga();
+            if (ultimaDescarga != null && ultimaDescarga.isAfter(limiteDescarga)) {
+                return false;
+            }
+            cache.remove(job.getSolicitud(), job);
+            if (job.getArchivo() != null) {
+                eliminarArchivo(job.getArchivo());
+            }
+            return true;
+        });
+    }
+
+
+    private void encolar(ReporteJob job) {
+        try {
+            reporteExecutor.execute(() -> ejecutar(job));
+        } catch (TaskRejectedException e) {
+            job.fallar("La cola de reportes está llena, intente nuevamente más tarde");
+            cache.remove(job.getSolicitud(), job);
+            reportes.remove(job.getId());
+            throw e;
+        }
+    }
+
+    private void ejecutar(ReporteJob job) {
+        SolicitudReporte solicitud = job.getSolicitud();
+        Path destino = directorio.resolve(job.getId() + "." + solicitud.formato().getExtension());
+        Path temporal = directorio.resolve(job.getId() + ".tmp");
+
+        try {
+            reporteGenerador.generar(job, temporal);
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.completar(destino);
+        } catch (Exception e) {
+            log.error("Error generando el reporte {} ({})", job.getId(), solicitud, e);
+            job.fallar("Error generando el reporte: " + e.getMessage());
+            cache.remove(solicitud, job);
+            eliminarArchivo(temporal);
+        }
+    }
+
+    private boolean esReutilizable(ReporteJob job) {
+        if (job.getGeneracionDatos() != generacion.get()) {
+            return false;
+        }
+        if (job.isActivo()) {
+            return true;
+        }
+        return job.getEstado() == EstadoReporte.COMPLETADO
+                && job.getFechaFin().plus(duracionCache).isAfter(LocalDateTime.now())
+                && Files.isReadable(job.getArchivo());
+    }
+
+    private void eliminarArchivo(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo eliminar el archivo {}", archivo, e);
+        }
+    }
+}
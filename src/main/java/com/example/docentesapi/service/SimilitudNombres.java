@@ -0,0 +1,166 @@
+package com.example.docentesapi.service;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+
+/**
+ * Similitud entre nombres de docentes basada en Jaro-Winkler sobre nombres normalizados.
+ */
+final class SimilitudNombres {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}");
+    private static final Pattern NO_LETRAS = Pattern.compile("[^a-z]+");
+
+    private static final Set<String> TITULOS = Set.of(
+            "dr", "dra", "mg", "mgtr", "msc", "phd", "lic", "ing", "prof", "abog", "arq", "econ");
+
+    private SimilitudNombres() {
+    }
+
+
+    /**
+     * Nombre sin tildes, mayúsculas, signos ni títulos académicos, en su orden original y con las
+     * palabras ordenadas alfabéticamente. {@code letras} cuenta cada letra y los espacios (índice 26),
+     * iguales en ambas formas.
+     */
+    record Nombre(String enOrden, String ordenado, int[] letras) {
+    }
+
+
+    static Nombre normalizar(String nombre) {
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(nombre, Normalizer.Form.NFD)).replaceAll("");
+        List<String> palabras = Arrays.stream(NO_LETRAS.split(sinTildes.toLowerCase(Locale.ROOT)))
+                .filter(palabra -> !palabra.isEmpty() && !TITULOS.contains(palabra))
+                .toList();
+        String enOrden = String.join(" ", palabras);
+        return new Nombre(enOrden, palabras.stream().sorted().collect(Collectors.joining(" ")), contarLetras(enOrden));
+    }
+
+    private static int[] contarLetras(String nombre) {
+        int[] letras = new int[27];
+        for (int i = 0; i < nombre.length(); i++) {
+            char letra = nombre.charAt(i);
+            letras[letra == ' ' ? 26 : letra - 'a']++;
+        }
+        return letras;
+    }
+
+
+    /**
+     * La mayor de las dos similitudes: con las palabras ordenadas, "Pérez López, Juan" y "Dr. Juan Perez Lopez"
+     * quedan iguales; en su orden original, un apellido de más al final apenas penaliza
+     * ("Ana Quispe" frente a "Ana Quispe Mamani"), mientras que ordenado lo intercala y baja la similitud.
+     */
+    static double similitud(Nombre a, Nombre b) {
+        return Math.max(jaroWinkler(a.enOrden(), b.enOrden()), jaroWinkler(a.ordenado(), b.ordenado()));
+    }
+
+    /**
+     * Como {@link #similitud(Nombre, Nombre)} cuando el resultado alcanza {@code umbral}, salvo que si el orden
+     * original ya lo alcanza se devuelve esa similitud sin calcular la otra. Si no lo alcanza solo se garantiza
+     * un valor menor que {@code umbral}: los pares que por sus letras no pueden llegar a él no se comparan.
+     */
+    static double similitud(Nombre a, Nombre b, double umbral) {
+        int comunes = letrasComunes(a.letras(), b.letras());
+        double enOrden = puedeAlcanzar(a.enOrden(), b.enOrden(), comunes, umbral)
+                ? jaroWinkler(a.enOrden(), b.enOrden())
+                : 0.0;
+        if (enOrden >= umbral || (a.enOrden().equals(a.ordenado()) && b.enOrden().equals(b.ordenado()))) {
+            return enOrden;
+        }
+        return puedeAlcanzar(a.ordenado(), b.ordenado(), comunes, umbral)
+                ? Math.max(enOrden, jaroWinkler(a.ordenado(), b.ordenado()))
+                : enOrden;
+    }
+
+    private static int letrasComunes(int[] a, int[] b) {
+        int comunes = 0;
+        for (int i = 0; i < a.length; i++) {
+            comunes += Math.min(a[i], b[i]);
+        }
+        return comunes;
+    }
+
+    /**
+     * Cota superior de Jaro-Winkler: las coincidencias no pueden superar las letras en común y se supone
+     * que no hay transposiciones. Cuesta unas decenas de operaciones frente a las miles de jaroWinkler.
+     */
+    private static boolean puedeAlcanzar(String a, String b, int comunes, double umbral) {
+        int longitudA = a.length();
+        int longitudB = b.length();
+        if (longitudA == 0 || longitudB == 0) {
+            return true;
+        }
+        double m = comunes;
+        double jaro = (m / longitudA + m / longitudB + 1.0) / 3.0;
+        int prefijo = 0;
+        int maximoPrefijo = Math.min(4, Math.min(longitudA, longitudB));
+        while (prefijo < maximoPrefijo && a.charAt(prefijo) == b.charAt(prefijo)) {
+            prefijo++;
+        }
+        // Margen para que el redondeo no descarte un par que jaroWinkler dejaría justo en el umbral
+        return jaro + prefijo * 0.1 * (1.0 - jaro) >= umbral - 1e-9;
+    }
+
+
+    static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        int longitudA = a.length();
+        int longitudB = b.length();
+        if (longitudA == 0 || longitudB == 0) {
+            return 0.0;
+        }
+
+        int ventana = Math.max(0, Math.max(longitudA, longitudB) / 2 - 1);
+        boolean[] coincideA = new boolean[longitudA];
+        boolean[] coincideB = new boolean[longitudB];
+
+        int coincidencias = 0;
+        for (int i = 0; i < longitudA; i++) {
+            int desde = Math.max(0, i - ventana);
+            int hasta = Math.min(longitudB, i + ventana + 1);
+            for (int j = desde; j < hasta; j++) {
+                if (!coincideB[j] && a.charAt(i) == b.charAt(j)) {
+                    coincideA[i] = true;
+                    coincideB[j] = true;
+                    coincidencias++;
+                    break;
+                }
+            }
+        }
+        if (coincidencias == 0) {
+            return 0.0;
+        }
+
+        int transposiciones = 0;
+        for (int i = 0, j = 0; i < longitudA; i++) {
+            if (coincideA[i]) {
+                while (!coincideB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transposiciones++;
+                }
+                j++;
+            }
+        }
+
+        double m = coincidencias;
+        double jaro = (m / longitudA + m / longitudB + (m - transposiciones / 2.0) / m) / 3.0;
+
+        int prefijo = 0;
+        int maximoPrefijo = Math.min(4, Math.min(longitudA, longitudB));
+        while (prefijo < maximoPrefijo && a.charAt(prefijo) == b.charAt(prefijo)) {
+            prefijo++;
+        }
+        return jaro + prefijo * 0.1 * (1.0 - jaro);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.exception.InvalidDateException;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+
+final class ValidadorDocente {
+
+    private ValidadorDocente() {
+    }
+
+
+    static void validarFechaNacimiento(LocalDate fechaNacimiento) {
+
+        LocalDate fechaActual = LocalDate.now();
+        int edad = Period.between(fechaNacimiento, fechaActual).getYears();
+        if (edad > 100) {
+            throw new InvalidDateException("fecNacimiento", fechaNacimiento,
+                    "La fecha de nacimiento indica una edad no válida (mayor a 100 años)");
+        }
+    }
+
+    static void validarTiempoServicio(Integer tiempoServicio, LocalDate fechaNacimiento) {
+
+        if (fechaNacimiento != null) {
+            int edad = Period.between(fechaNacimiento, LocalDate.now()).getYears();
+            int edadMinimaParaTrabajo =30;
+            int maximoTiempoServicioPosible = edad - edadMinimaParaTrabajo;
+
+            if (tiempoServicio > maximoTiempoServicioPosible) {
+                throw new InvalidDateException("tiempoServicio", tiempoServicio,
+                        String.format("El tiempo de servicio (%d años) no es coherente con la edad del docente (%d años)",
+                                tiempoServicio, edad));
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.docentesapi.trazas;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * DataSource que envuelve conexiones y sentencias para medir cada ejecución y pasarla a {@link TrazadorSql}.
+ * En {@code executeQuery} también se envuelve el ResultSet: en las consultas en streaming la mayor parte del tiempo
+ * se pasa en {@code next()}, así que la sentencia se registra al cerrar el ResultSet o la sentencia, sumando ambos tiempos.
+ */
+public class TrazadorDataSource extends DelegatingDataSource {
+
+    private final TrazadorSql trazador;
+
+
+    public TrazadorDataSource(DataSource dataSource, TrazadorSql trazador) {
+        super(dataSource);
+        this.trazador = trazador;
+    }
+
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envolver(super.getConnection(username, password));
+    }
+
+
+    private Connection envolver(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConexionHandler(conexion));
+    }
+
+    private static Object invocar(Object destino, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+
+    private class ConexionHandler implements InvocationHandler {
+
+        private final Connection conexion;
+
+        ConexionHandler(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object resultado = invocar(conexion, method, args);
+
+            return switch (method.getName()) {
+                case "prepareStatement", "prepareCall" -> envolverSentencia((Statement) resultado, (String) args[0]);
+                case "createStatement" -> envolverSentencia((Statement) resultado, null);
+                default -> resultado;
+            };
+        }
+
+        private Statement envolverSentencia(Statement sentencia, String sql) {
+            Class<?> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+                    : sentencia instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+
+            return (Statement) Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(),
+                    new Class<?>[]{tipo},
+                    new SentenciaHandler(sentencia, sql));
+        }
+    }
+
+
+    private class SentenciaHandler implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final String sql;
+        private Map<Integer, Object> parametros;
+        private LecturaHandler lectura;
+
+        SentenciaHandler(Statement sentencia, String sql) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+
+            if (nombre.startsWith("execute")) {
+                return ejecutar((Statement) proxy, method, args);
+            }
+            if (nombre.equals("close")) {
+                // Cerrar la sentencia cierra su ResultSet aunque no se haya cerrado por separado
+                terminarLectura();
+            }
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                if (parametros == null) {
+                    parametros = new TreeMap<>();
+                }
+                parametros.put(indice, nombre.equals("setNull") ? null : args[1]);
+            } else if (nombre.equals("clearParameters") && parametros != null) {
+                parametros.clear();
+            }
+            return invocar(sentencia, method, args);
+        }
+
+        private Object ejecutar(Statement proxy, Method method, Object[] args) throws Throwable {
+            String sqlEjecutado = args != null && args.length > 0 && args[0] instanceof String texto ? texto
+                    : sql != null ? sql
+                    : "(lote)";
+            // Volver a ejecutar la sentencia cierra el ResultSet anterior
+            terminarLectura();
+
+            long inicio = System.nanoTime();
+            Object resultado;
+            try {
+                resultado = invocar(sentencia, method, args);
+            } catch (Throwable e) {
+                trazador.registrar(sqlEjecutado, parametros, System.nanoTime() - inicio, false);
+                throw e;
+            }
+            long duracion = System.nanoTime() - inicio;
+
+            if (resultado instanceof ResultSet filas && method.getName().equals("executeQuery")) {
+                // Los parámetros se copian porque la sentencia puede reutilizarse antes de cerrar el ResultSet
+                lectura = new LecturaHandler(filas, proxy, sqlEjecutado,
+                        parametros != null ? new TreeMap<>(parametros) : null, trazador.origenActual(), duracion);
+                return Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class},
+                        lectura);
+            }
+            trazador.registrar(sqlEjecutado, parametros, duracion, true);
+            return resultado;
+        }
+
+        private void terminarLectura() {
+            if (lectura != null) {
+                lectura.registrar();
+                lectura = null;
+            }
+        }
+    }
+
+
+    private class LecturaHandler implements InvocationHandler {
+
+        private final ResultSet filas;
+        private final Statement sentencia;
+        private final String sql;
+        private final Map<Integer, Object> parametros;
+        private final String origen;
+        private long duracionNanos;
+        private boolean exitosa = true;
+        private boolean registrada;
+
+        LecturaHandler(ResultSet filas, Statement sentencia, String sql, Map<Integer, Object> parametros, String origen,
+                       long duracionNanos) {
+            this.filas = filas;
+            this.sentencia = sentencia;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.origen = origen;
+            this.duracionNanos = duracionNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next" -> {
+                    long inicio = System.nanoTime();
+                    try {
+                        return invocar(filas, method, args);
+                    } catch (Throwable e) {
+                        exitosa = false;
+                        throw e;
+                    } finally {
+                        duracionNanos += System.nanoTime() - inicio;
+                    }
+                }
+                case "close" -> {
+                    try {
+                        return invocar(filas, method, args);
+                    } finally {
+                        registrar();
+                    }
+                }
+                // Hibernate asocia los ResultSet a la sentencia que recibió, es decir, al proxy
+                case "getStatement" -> {
+                    return sentencia;
+                }
+                default -> {
+                    return invocar(filas, method, args);
+                }
+            }
+        }
+
+        void registrar() {
+            if (!registrada) {
+                registrada = true;
+                trazador.registrar(sql, parametros, origen, duracionNanos, exitosa);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.docentesapi.trazas;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Registra las sentencias SQL ejecutadas: muestrea una fracción configurable, siempre deja constancia de las
+ * lentas (con sus parámetros y el método de {@code DocenteRepository} que las originó) y cuenta las sentencias
+ * de cada petición HTTP para detectar patrones N+1. La salida va al logger {@code com.example.docentesapi.trazas.SQL},
+ * que en {@code logback-spring.xml} usa un appender asíncrono que nunca bloquea el hilo de la petición.
+ */
+@Component
+public class TrazadorSql implements TaskDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger("com.example.docentesapi.trazas.SQL");
+
+    private static final int LONGITUD_MAXIMA_PARAMETRO = 100;
+
+    private final boolean habilitado;
+    private final double tasaMuestreo;
+    private final long umbralLentoNanos;
+    private final int maxSentenciasPorPeticion;
+
+    private final ThreadLocal<String> origen = new ThreadLocal<>();
+    private final ThreadLocal<Map<String, Integer>> sentenciasPeticion = new ThreadLocal<>();
+
+    private final LongAdder totalSentencias = new LongAdder();
+    private final LongAdder tiempoTotalNanos = new LongAdder();
+    private final LongAdder sentenciasLentas = new LongAdder();
+    private final LongAdder sentenciasMuestreadas = new LongAdder();
+    private final LongAdder peticionesSospechosas = new LongAdder();
+
+
+    public TrazadorSql(@Value("${sql.trazas.habilitado:true}") boolean habilitado,
+                       @Value("${sql.trazas.tasa-muestreo:0.01}") double tasaMuestreo,
+                       @Value("${sql.trazas.umbral-lento:PT0.2S}") Duration umbralLento,
+                       @Value("${sql.trazas.max-sentencias-por-peticion:20}") int maxSentenciasPorPeticion) {
+        this.habilitado = habilitado;
+        this.tasaMuestreo = tasaMuestreo;
+        this.umbralLentoNanos = umbralLento.toNanos();
+        this.maxSentenciasPorPeticion = maxSentenciasPorPeticion;
+    }
+
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+
+    /**
+     * Marca el método de repositorio que está ejecutando el hilo actual y devuelve el anterior para restaurarlo.
+     */
+    public String entrarEnRepositorio(String metodo) {
+        String anterior = origen.get();
+        origen.set(metodo);
+        return anterior;
+    }
+
+    public void salirDeRepositorio(String anterior) {
+        if (anterior == null) {
+            origen.remove();
+        } else {
+            origen.set(anterior);
+        }
+    }
+
+    public String origenActual() {
+        String metodo = origen.get();
+        return metodo != null ? metodo : "sin repositorio";
+    }
+
+
+    public void iniciarPeticion() {
+        // Concurrente: las consultas en paralelo sobre particiones suman en el mismo contador
+        sentenciasPeticion.set(new ConcurrentHashMap<>());
+    }
+
+    public void finalizarPeticion(String metodoHttp, String uri) {
+        Map<String, Integer> sentencias = sentenciasPeticion.get();
+        sentenciasPeticion.remove();
+        if (sentencias == null) {
+            return;
+        }
+
+        int total = sentencias.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > maxSentenciasPorPeticion) {
+            peticionesSospechosas.increment();
+            Map.Entry<String, Integer> masRepetida = sentencias.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElseThrow();
+            log.warn("Posible N+1: {} sentencias en {} {}; la más repetida ({} veces): {}",
+                    total, metodoHttp, uri, masRepetida.getValue(), masRepetida.getKey());
+        }
+    }
+
+
+    /**
+     * Hace que las sentencias de una tarea ejecutada en otro hilo cuenten para la petición del hilo actual.
+     */
+    @Override
+    public Runnable decorate(Runnable tarea) {
+        Map<String, Integer> sentencias = sentenciasPeticion.get();
+        if (sentencias == null) {
+            return tarea;
+        }
+        return () -> {
+            Map<String, Integer> anteriores = sentenciasPeticion.get();
+            sentenciasPeticion.set(sentencias);
+            try {
+                tarea.run();
+            } finally {
+                if (anteriores == null) {
+                    sentenciasPeticion.remove();
+                } else {
+                    sentenciasPeticion.set(anteriores);
+                }
+            }
+        };
+    }
+
+
+    public void registrar(String sql, Map<Integer, Object> parametros, long duracionNanos, boolean exitosa) {
+        registrar(sql, parametros, origenActual(), duracionNanos, exitosa);
+    }
+
+    /**
+     * Variante para sentencias que se registran después de que el repositorio retornó, como las consultas
+     * en streaming: {@code metodoOrigen} es el que tenía el hilo al ejecutarlas.
+     */
+    public void registrar(String sql, Map<Integer, Object> parametros, String metodoOrigen, long duracionNanos,
+                          boolean exitosa) {
+        totalSentencias.increment();
+        tiempoTotalNanos.add(duracionNanos);
+
+        Map<String, Integer> sentencias = sentenciasPeticion.get();
+        if (sentencias != null) {
+            sentencias.merge(sql, 1, Integer::sum);
+        }
+
+        if (duracionNanos >= umbralLentoNanos) {
+            sentenciasLentas.increment();
+            if (log.isWarnEnabled()) {
+                log.warn("SQL lento {} ms [{}]{} {} parametros={}",
+                        TimeUnit.NANOSECONDS.toMillis(duracionNanos), metodoOrigen,
+                        exitosa ? "" : " (fallida)", sql, formatear(parametros));
+            }
+        } else if (tasaMuestreo > 0 && ThreadLocalRandom.current().nextDouble() < tasaMuestreo) {
+            sentenciasMuestreadas.increment();
+            if (log.isInfoEnabled()) {
+                log.info("SQL {} ms [{}]{} {} parametros={}",
+                        TimeUnit.NANOSECONDS.toMillis(duracionNanos), metodoOrigen,
+                        exitosa ? "" : " (fallida)", sql, formatear(parametros));
+            }
+        }
+    }
+
+
+    public Map<String, Object> obtenerMetricas() {
+        long total = totalSentencias.sum();
+
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("habilitado", habilitado);
+        metricas.put("totalSentencias", total);
+        metricas.put("tiempoPromedioMs", total > 0
+                ? Math.round(tiempoTotalNanos.sum() / (double) total / 10_000.0) / 100.0
+                : 0.0);
+        metricas.put("sentenciasLentas", sentenciasLentas.sum());
+        metricas.put("sentenciasMuestreadas", sentenciasMuestreadas.sum());
+        metricas.put("peticionesPosibleN1", peticionesSospechosas.sum());
+        metricas.put("tasaMuestreo", tasaMuestreo);
+        metricas.put("umbralLentoMs", TimeUnit.NANOSECONDS.toMillis(umbralLentoNanos));
+        metricas.put("maxSentenciasPorPeticion", maxSentenciasPorPeticion);
+        return metricas;
+    }
+
+
+    private String formatear(Map<Integer, Object> parametros) {
+        if (parametros == null || parametros.isEmpty()) {
+            return "[]";
+        }
+        StringBuilder texto = new StringBuilder("[");
+        parametros.forEach((indice, valor) -> {
+            if (texto.length() > 1) {
+                texto.append(", ");
+            }
+            String valorTexto = String.valueOf(valor);
+            if (valorTexto.length() > LONGITUD_MAXIMA_PARAMETRO) {
+                valorTexto = valorTexto.substring(0, LONGITUD_MAXIMA_PARAMETRO) + "...";
+            }
+            texto.append(indice).append('=').append(valorTexto);
+        });
+        return texto.append(']').toString();
+    }
+}
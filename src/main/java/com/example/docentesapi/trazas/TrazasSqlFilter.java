@@ -0,0 +1,43 @@
+package com.example.docentesapi.trazas;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+
+/**
+ * Abre el contador de sentencias SQL de cada petición para que {@link TrazadorSql} detecte posibles N+1.
+ */
+@Component
+public class TrazasSqlFilter extends OncePerRequestFilter {
+
+    private final TrazadorSql trazador;
+
+
+    public TrazasSqlFilter(TrazadorSql trazador) {
+        this.trazador = trazador;
+    }
+
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !trazador.isHabilitado();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        trazador.iniciarPeticion();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            trazador.finalizarPeticion(request.getMethod(), request.getRequestURI());
+        }
+    }
+}
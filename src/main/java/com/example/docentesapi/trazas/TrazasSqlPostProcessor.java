@@ -0,0 +1,63 @@
+package com.example.docentesapi.trazas;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+
+/**
+ * Conecta {@link TrazadorSql} con la aplicación: envuelve el DataSource y añade a cada repositorio de Spring Data
+ * un interceptor que registra qué método originó las sentencias.
+ */
+@Component
+public class TrazasSqlPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<TrazadorSql> trazadorProvider;
+
+
+    public TrazasSqlPostProcessor(ObjectProvider<TrazadorSql> trazadorProvider) {
+        this.trazadorProvider = trazadorProvider;
+    }
+
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        String repositorio = repositoryInformation.getRepositoryInterface().getSimpleName();
+                        proxyFactory.addAdvice(0, interceptorRepositorio(repositorio));
+                    }));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TrazadorDataSource)) {
+            TrazadorSql trazador = trazadorProvider.getObject();
+            if (trazador.isHabilitado()) {
+                return new TrazadorDataSource(dataSource, trazador);
+            }
+        }
+        return bean;
+    }
+
+
+    private MethodInterceptor interceptorRepositorio(String repositorio) {
+        return invocation -> {
+            TrazadorSql trazador = trazadorProvider.getObject();
+            String anterior = trazador.entrarEnRepositorio(repositorio + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                trazador.salirDeRepositorio(anterior);
+            }
+        };
+    }
+}
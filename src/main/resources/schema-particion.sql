@@ -0,0 +1,24 @@
+-- Sin AUTO_INCREMENT: el ID lo asigna ids_docentes en la partición 0 y se conserva al cambiar de partición
+CREATE TABLE IF NOT EXISTS docentes (
+    id_docente      BIGINT       NOT NULL PRIMARY KEY,
+    nom_docente     VARCHAR(100) NOT NULL,
+    dir_docente     VARCHAR(200) NOT NULL,
+    ciu_docente     VARCHAR(50)  NOT NULL,
+    email_docente   VARCHAR(100) NOT NULL UNIQUE,
+    fec_nacimiento  DATE         NOT NULL,
+    tiempo_servicio INT          NOT NULL,
+    nom_orden       VARCHAR(100),
+    INDEX idx_docentes_fec_nacimiento_ciudad (fec_nacimiento, ciu_docente),
+    INDEX idx_docentes_nom_orden (nom_orden, id_docente)
+);
+
+-- Registro global de emails; solo se usa en la partición 0
+CREATE TABLE IF NOT EXISTS emails_docentes (
+    email_docente VARCHAR(100) NOT NULL PRIMARY KEY
+);
+
+-- Registro global de IDs y partición de cada docente; solo se usa en la partición 0
+CREATE TABLE IF NOT EXISTS ids_docentes (
+    id_docente BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    particion  INT    NOT NULL
+);
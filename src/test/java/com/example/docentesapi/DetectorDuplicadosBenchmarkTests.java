@@ -0,0 +1,110 @@
+package com.example.docentesapi;
+
+import com.example.docentesapi.dto.FormatoReporte;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.dto.TipoReporte;
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.service.DetectorDuplicados;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Un millón de docentes sintéticos repartidos en 60 ciudades y 45 años de fechas de nacimiento, guardados en
+ * particiones H2 propias y leídos con la consulta real de cada partición. La carga de filas no se mide.
+ * Se ejecuta con {@code -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+        "particion.shards[0].url=jdbc:h2:mem:benchmark0;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "particion.shards[1].url=jdbc:h2:mem:benchmark1;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+        "particion.shards[2].url=jdbc:h2:mem:benchmark2;MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE"
+})
+@ActiveProfiles("particionado")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DetectorDuplicadosBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(DetectorDuplicadosBenchmarkTests.class);
+
+    private static final int TOTAL = 1_000_000;
+    private static final int TAMANO_LOTE = 5_000;
+    private static final String INSERTAR = "INSERT INTO docentes (id_docente, nom_docente, dir_docente, ciu_docente, " +
+            "email_docente, fec_nacimiento, tiempo_servicio, nom_orden) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private DetectorDuplicados detector;
+
+    @Autowired
+    private Particiones particiones;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    void detectaUnMillonDeDocentesEnMenosDeUnMinuto() {
+        cargarDocentes();
+        ReporteJob job = new ReporteJob(
+                new SolicitudReporte(TipoReporte.DUPLICADOS_PROBABLES, FormatoReporte.NDJSON, null), 0);
+        LongAdder pares = new LongAdder();
+
+        long comienzo = System.nanoTime();
+        detector.detectar(job, par -> pares.increment());
+        Duration duracion = Duration.ofNanos(System.nanoTime() - comienzo);
+
+        log.info("Duplicados de {} docentes: {} pares en {} ms", TOTAL, pares.sum(), duracion.toMillis());
+        assertThat(job.getProcesados()).isEqualTo(TOTAL * 2L);
+        assertThat(pares.sum()).isPositive();
+        assertThat(duracion).isLessThan(Duration.ofMinutes(1));
+    }
+
+
+    private void cargarDocentes() {
+        String[] nombres = {"Juan", "María", "Rosa", "Luis", "Carmen", "José", "Ana", "Pedro", "Elena", "Jorge"};
+        String[] apellidos = {"Quispe", "Mamani", "Pérez", "López", "Huamán", "Torres", "Flores", "Condori",
+                "Rojas", "Vargas", "Chávez", "Ramos", "Díaz", "Castillo", "Gutiérrez", "Sánchez"};
+        LocalDate inicio = LocalDate.of(1960, 1, 1);
+        long dias = 45 * 365;
+
+        List<List<Object[]>> lotes = new ArrayList<>();
+        for (int particion = 0; particion < particiones.total(); particion++) {
+            lotes.add(new ArrayList<>());
+        }
+        for (int i = 0; i < TOTAL; i++) {
+            String nombre = nombres[i % nombres.length] + " " + apellidos[(i / 7) % apellidos.length] + " "
+                    + apellidos[(i / 13) % apellidos.length];
+            String ciudad = "Ciudad " + (i * 31 % 60);
+            int particion = particiones.particionDeCiudad(ciudad);
+            List<Object[]> lote = lotes.get(particion);
+            lote.add(new Object[]{i + 1L, nombre, "Av. Los Incas 123", ciudad, "docente" + i + "@universidad.edu.pe",
+                    inicio.plusDays(i * dias / TOTAL), 10, Docente.claveDeOrden(nombre)});
+            if (lote.size() == TAMANO_LOTE) {
+                insertar(particion, lote);
+            }
+        }
+        for (int particion = 0; particion < lotes.size(); particion++) {
+            insertar(particion, lotes.get(particion));
+        }
+    }
+
+    private void insertar(int particion, List<Object[]> lote) {
+        if (!lote.isEmpty()) {
+            particiones.enParticion(particion, false, () -> jdbcTemplate.batchUpdate(INSERTAR, lote));
+            lote.clear();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.docentesapi;
+
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.exception.DocenteNotFoundException;
+import com.example.docentesapi.exception.EmailAlreadyExistsException;
+import com.example.docentesapi.exception.PaginaNoDisponibleException;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.repository.DocenteRepository;
+import com.example.docentesapi.service.DocenteService;
+import com.example.docentesapi.service.DocenteServiceParticionado;
+import com.example.docentesapi.service.RellenoNomOrden;
+import com.example.docentesapi.trazas.TrazadorSql;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = "sql.trazas.max-sentencias-por-peticion=2")
+@ActiveProfiles("particionado")
+class DocenteServiceParticionadoTests {
+
+    private static final Comparator<Docente> ORDEN_GLOBAL = Comparator
+            .comparing(Docente::getNomOrden)
+            .thenComparing(Docente::getIdDocente);
+
+
+    @Autowired
+    private DocenteService docenteService;
+
+    @Autowired
+    private DocenteRepository docenteRepository;
+
+    @Autowired
+    private TrazadorSql trazadorSql;
+
+    @Autowired
+    private RellenoNomOrden rellenoNomOrden;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private Particiones particiones;
+
+    @Test
+    void usaElServicioParticionado() {
+        assertThat(docenteService).isInstanceOf(DocenteServiceParticionado.class);
+        assertThat(particiones.total()).isEqualTo(3);
+    }
+
+    @Test
+    void cuentaEnLaPeticionLasSentenciasDeTodasLasParticiones() {
+        long sospechosasAntes = (long) trazadorSql.obtenerMetricas().get("peticionesPosibleN1");
+
+        // Una sentencia por partición en los hilos particion-*: 3 > 2 solo si se suman a la petición
+        trazadorSql.iniciarPeticion();
+        try {
+            docenteService.obtenerTodosLosDocentes();
+        } finally {
+            trazadorSql.finalizarPeticion("GET", "/api/docentes");
+        }
+
+        assertThat((long) trazadorSql.obtenerMetricas().get("peticionesPosibleN1"))
+                .isEqualTo(sospechosasAntes + 1);
+    }
+
+    @Test
+    void noAbreTransaccionesEnElHiloDeLaPeticion() {
+        assertThat(AopUtils.isAopProxy(docenteService)).isFalse();
+        AnnotationTransactionAttributeSource atributos = new AnnotationTransactionAttributeSource();
+        for (Method metodo : DocenteService.class.getMethods()) {
+            assertThat(atributos.getTransactionAttribute(metodo, DocenteServiceParticionado.class))
+                    .as(metodo.getName())
+                    .isNull();
+        }
+
+        Queue<Boolean> transaccionActivaAlEntrar = new ConcurrentLinkedQueue<>();
+        doAnswer(invocacion -> {
+            transaccionActivaAlEntrar.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocacion.callRealMethod();
+        }).when(particiones).enParticion(anyInt(), anyBoolean(), any());
+
+        String ciudad = "Ciudad-" + UUID.randomUUID();
+        Docente creado = docenteService.crearDocente(nuevoDocente("Elena Condori", ciudad, 12));
+        docenteService.obtenerDocentePorId(creado.getIdDocente());
+        docenteService.obtenerDocentesPorCiudad(ciudad);
+        docenteService.obtenerTodosLosDocentes(PageRequest.of(0, 5));
+        docenteService.obtenerDocentesPorExperiencia(0);
+        docenteService.contarDocentes();
+        docenteService.calcularEdadPromedio();
+
+        assertThat(transaccionActivaAlEntrar).isNotEmpty().containsOnly(false);
+    }
+
+    @Test
+    void guardaCadaDocenteEnLaParticionDeSuCiudad() {
+        String ciudad = "Ciudad-" + UUID.randomUUID();
+        Docente creado = docenteService.crearDocente(nuevoDocente("Ana Quispe", ciudad, 10));
+
+        assertThat(estaEnParticion(creado.getIdDocente(), particiones.particionDeCiudad(ciudad))).isTrue();
+        assertThat(docenteService.obtenerDocentePorId(creado.getIdDocente()).getNomDocente()).isEqualTo("Ana Quispe");
+        assertThat(docenteService.obtenerDocentesPorCiudad(ciudad))
+                .extracting(Docente::getIdDocente)
+                .containsExactly(creado.getIdDocente());
+    }
+
+    @Test
+    void rechazaEmailsRepetidosEntreParticiones() {
+        Docente primero = nuevoDocente("Luis Mamani", "Cusco", 5);
+        docenteService.crearDocente(primero);
+
+        Docente repetido = nuevoDocente("Luis Mamani", "Arequipa", 5);
+        repetido.setEmailDocente(primero.getEmailDocente().toUpperCase());
+
+        assertThatThrownBy(() -> docenteService.crearDocente(repetido))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+    }
+
+    @Test
+    void combinaListadosYPromediosDeTodasLasParticiones() {
+        for (int i = 0; i < 12; i++) {
+            docenteService.crearDocente(nuevoDocente("Docente " + (char) ('A' + i), "Ciudad-" + i, i));
+        }
+
+        Page<Docente> pagina = docenteService.obtenerTodosLosDocentes(PageRequest.of(1, 4));
+        assertThat(pagina.getContent()).hasSize(4);
+        assertThat(pagina.getTotalElements()).isEqualTo(docenteService.contarDocentes());
+
+        List<Docente> todos = docenteService.obtenerTodosLosDocentes();
+        List<String> esperados = todos.stream()
+                .sorted(ORDEN_GLOBAL)
+                .map(Docente::getNomDocente)
+                .skip(4)
+                .limit(4)
+                .toList();
+        assertThat(pagina.getContent()).extracting(Docente::getNomDocente).containsExactlyElementsOf(esperados);
+
+        double esperado = todos.stream()
+                .mapToInt(docente -> LocalDate.now().getYear() - docente.getFecNacimiento().getYear())
+                .average()
+                .orElseThrow();
+        assertThat(docenteService.calcularEdadPromedio()).isCloseTo(esperado, offset(0.01));
+
+        assertThat(docenteService.obtenerDocentesPorExperiencia(0))
+                .extracting(Docente::getTiempoServicio)
+                .isSortedAccordingTo((a, b) -> Integer.compare(b, a));
+    }
+
+    @Test
+    void rechazaPaginasQueObliganACargarDemasiadasFilas() {
+        assertThatThrownBy(() -> docenteService.obtenerTodosLosDocentes(PageRequest.of(100_000, 100)))
+                .isInstanceOf(PaginaNoDisponibleException.class);
+        assertThatThrownBy(() -> docenteService.obtenerTodosLosDocentes(PageRequest.of(0, 10_001)))
+                .isInstanceOf(PaginaNoDisponibleException.class);
+        verify(particiones, never()).enTodas(anyBoolean(), any());
+
+        assertThat(docenteService.obtenerTodosLosDocentes(PageRequest.of(99, 100)).getNumber()).isEqualTo(99);
+    }
+
+    @Test
+    void paginaSinPerderNombresConTildesNiMinusculas() {
+        List<String> nombres = List.of("Zoila Ramos", "Ángel Ruiz", "ana Torres", "Óscar Paz", "beatriz León",
+                "Úrsula Vega", "Álvaro Díaz", "zenón Cruz", "Ñusta Huamán", "Íñigo Salas");
+        for (int i = 0; i < nombres.size(); i++) {
+            docenteService.crearDocente(nuevoDocente(nombres.get(i), "Ciudad-" + i, 3));
+        }
+
+        List<Long> esperados = docenteService.obtenerTodosLosDocentes().stream()
+                .sorted(ORDEN_GLOBAL)
+                .map(Docente::getIdDocente)
+                .toList();
+
+        List<Docente> paginados = new ArrayList<>();
+        Page<Docente> pagina = docenteService.obtenerTodosLosDocentes(PageRequest.of(0, 3));
+        paginados.addAll(pagina.getContent());
+        while (pagina.hasNext()) {
+            pagina = docenteService.obtenerTodosLosDocentes(pagina.nextPageable());
+            paginados.addAll(pagina.getContent());
+        }
+
+        assertThat(paginados).extracting(Docente::getIdDocente).containsExactlyElementsOf(esperados);
+        assertThat(paginados).extracting(Docente::getNomDocente).containsAll(nombres);
+        assertThat(Docente.claveDeOrden("Ángel Ruiz")).isLessThan(Docente.claveDeOrden("beatriz León"));
+    }
+
+    @Test
+    void mantieneElIdSiElDocenteCambiaDeParticion() {
+        Docente creado = docenteService.crearDocente(nuevoDocente("Rosa Huamán", "Puno", 8));
+        int origen = particiones.particionDeCiudad("Puno");
+
+        String otraCiudad = "Puno";
+        for (int i = 0; particiones.particionDeCiudad(otraCiudad) == origen; i++) {
+            otraCiudad = "Ciudad-" + i;
+        }
+
+        Docente cambios = nuevoDocente("Rosa Huamán", otraCiudad, 8);
+        cambios.setEmailDocente(creado.getEmailDocente());
+        Docente movido = docenteService.actualizarDocente(creado.getIdDocente(), cambios);
+
+        assertThat(movido.getIdDocente()).isEqualTo(creado.getIdDocente());
+        assertThat(docenteService.obtenerDocentePorId(creado.getIdDocente()).getCiuDocente()).isEqualTo(otraCiudad);
+        assertThat(estaEnParticion(creado.getIdDocente(), particiones.particionDeCiudad(otraCiudad))).isTrue();
+        assertThat(estaEnParticion(creado.getIdDocente(), origen)).isFalse();
+
+        docenteService.eliminarDocente(creado.getIdDocente());
+        assertThatThrownBy(() -> docenteService.obtenerDocentePorId(creado.getIdDocente()))
+                .isInstanceOf(DocenteNotFoundException.class);
+    }
+
+    @Test
+    void respondeNoEncontradoParaIdsNoPositivos() {
+        // RellenoNomOrden ya recorrió las particiones al arrancar
+        clearInvocations(particiones);
+        Docente cambios = nuevoDocente("Ana Quispe", "Cusco", 3);
+
+        for (long id : new long[]{-1L, 0L, Long.MIN_VALUE}) {
+            assertThatThrownBy(() -> docenteService.obtenerDocentePorId(id))
+                    .isInstanceOf(DocenteNotFoundException.class);
+            assertThatThrownBy(() -> docenteService.actualizarDocente(id, cambios))
+                    .isInstanceOf(DocenteNotFoundException.class);
+            assertThatThrownBy(() -> docenteService.eliminarDocente(id))
+                    .isInstanceOf(DocenteNotFoundException.class);
+        }
+        verify(particiones, never()).enParticion(anyInt(), anyBoolean(), any());
+    }
+
+    @Test
+    void asignaIdsUnicosEntreParticiones() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            ids.add(docenteService.crearDocente(nuevoDocente("Docente " + i, "Ciudad-" + i, 1)).getIdDocente());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates();
+        for (Long id : ids) {
+            assertThat(docenteService.obtenerDocentePorId(id).getIdDocente()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void completaNomOrdenEnFilasCreadasSinLaColumna() {
+        Docente creado = docenteService.crearDocente(nuevoDocente("Óscar Ñahui", "Ayacucho", 4));
+        int particion = particiones.particionDeCiudad("Ayacucho");
+        particiones.enParticion(particion, false, () -> jdbcTemplate.update(
+                "UPDATE docentes SET nom_orden = NULL WHERE id_docente = ?", creado.getIdDocente()));
+
+        rellenoNomOrden.rellenar();
+
+        String nomOrden = particiones.enParticion(particion, true, () -> jdbcTemplate.queryForObject(
+                "SELECT nom_orden FROM docentes WHERE id_docente = ?", String.class, creado.getIdDocente()));
+        assertThat(nomOrden).isEqualTo(Docente.claveDeOrden("Óscar Ñahui"));
+    }
+
+    private boolean estaEnParticion(Long id, int particion) {
+        return particiones.enParticion(particion, true, () -> docenteRepository.existsById(id));
+    }
+
+    private Docente nuevoDocente(String nombre, String ciudad, int tiempoServicio) {
+        return new Docente(nombre, "Av. Los Incas 123", ciudad,
+                UUID.randomUUID() + "@universidad.edu.pe", LocalDate.of(1975, 3, 15), tiempoServicio);
+    }
+}
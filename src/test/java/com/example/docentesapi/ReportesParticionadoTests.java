@@ -0,0 +1,104 @@
+package com.example.docentesapi;
+
+import com.example.docentesapi.dto.EstadoReporte;
+import com.example.docentesapi.dto.FormatoReporte;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.dto.TipoReporte;
+import com.example.docentesapi.entity.Docente;
+import com.example.docentesapi.service.DocenteService;
+import com.example.docentesapi.service.ReporteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("particionado")
+class ReportesParticionadoTests {
+
+    @Autowired
+    private DocenteService docenteService;
+
+    @Autowired
+    private ReporteService reporteService;
+
+
+    @Test
+    void exportaLosDocentesDeTodasLasParticiones() throws Exception {
+        List<Docente> creados = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            creados.add(docenteService.crearDocente(nuevoDocente("Docente " + i, "Ciudad-" + i)));
+        }
+
+        ReporteJob job = esperar(reporteService.solicitarReporte(
+                new SolicitudReporte(TipoReporte.EXPORTACION_DOCENTES, FormatoReporte.CSV, null)));
+
+        assertThat(job.getEstado()).as(job.getMensajeError()).isEqualTo(EstadoReporte.COMPLETADO);
+        List<String> lineas = Files.readAllLines(reporteService.obtenerArchivo(job.getId()));
+        assertThat(lineas).hasSize((int) job.getTotal() + 1);
+        for (Docente creado : creados) {
+            assertThat(lineas).anyMatch(linea -> linea.startsWith(creado.getIdDocente() + ",")
+                    && linea.contains(creado.getEmailDocente()));
+        }
+    }
+
+    @Test
+    void exportaLosDocentesDeUnaCiudad() throws Exception {
+        String ciudad = "Ciudad-" + UUID.randomUUID();
+        Docente creado = docenteService.crearDocente(nuevoDocente("Elena Condori", ciudad));
+
+        ReporteJob job = esperar(reporteService.solicitarReporte(
+                new SolicitudReporte(TipoReporte.EXPORTACION_DOCENTES, FormatoReporte.NDJSON, ciudad)));
+
+        assertThat(job.getEstado()).as(job.getMensajeError()).isEqualTo(EstadoReporte.COMPLETADO);
+        assertThat(Files.readAllLines(reporteService.obtenerArchivo(job.getId())))
+                .singleElement()
+                .satisfies(linea -> assertThat(linea)
+                        .contains("\"idDocente\":" + creado.getIdDocente())
+                        .contains(creado.getEmailDocente()));
+    }
+
+    @Test
+    void detectaDuplicadosConLaConsultaRealDeCadaParticion() throws Exception {
+        String ciudad = "Ciudad-" + UUID.randomUUID();
+        Docente original = docenteService.crearDocente(nuevoDocente("Juan Pérez López", ciudad));
+        Docente repetido = nuevoDocente("Dr. Juan Perez Lopez", ciudad.toUpperCase());
+        repetido.setFecNacimiento(original.getFecNacimiento().plusDays(3));
+        repetido = docenteService.crearDocente(repetido);
+        docenteService.crearDocente(nuevoDocente("Rosa Huamán Torres", ciudad));
+
+        ReporteJob job = esperar(reporteService.solicitarReporte(
+                new SolicitudReporte(TipoReporte.DUPLICADOS_PROBABLES, FormatoReporte.CSV, null)));
+
+        assertThat(job.getEstado()).as(job.getMensajeError()).isEqualTo(EstadoReporte.COMPLETADO);
+        assertThat(job.getProcesados()).isEqualTo(job.getTotal());
+        String par = original.getIdDocente() + ",Juan Pérez López," + repetido.getIdDocente() + ",Dr. Juan Perez Lopez,";
+        assertThat(Files.readAllLines(reporteService.obtenerArchivo(job.getId())))
+                .filteredOn(linea -> linea.contains(ciudad) || linea.contains(ciudad.toUpperCase()))
+                .singleElement()
+                .satisfies(linea -> assertThat(linea).startsWith(par));
+    }
+
+
+    private ReporteJob esperar(ReporteJob job) throws InterruptedException {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (job.isActivo() && System.nanoTime() < limite) {
+            Thread.sleep(20);
+        }
+        return reporteService.obtenerReporte(job.getId());
+    }
+
+    private Docente nuevoDocente(String nombre, String ciudad) {
+        return new Docente(nombre, "Av. Los Incas 123", ciudad,
+                UUID.randomUUID() + "@universidad.edu.pe", LocalDate.of(1975, 3, 15), 10);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.docentesapi.particion;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EsquemaParticionTests {
+
+    @Test
+    void agregaNomOrdenAUnaTablaCreadaSinLaColumna() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE docentes (" +
+                "id_docente BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, nom_docente VARCHAR(100) NOT NULL, " +
+                "dir_docente VARCHAR(200) NOT NULL, ciu_docente VARCHAR(50) NOT NULL, " +
+                "email_docente VARCHAR(100) NOT NULL UNIQUE, fec_nacimiento DATE NOT NULL, tiempo_servicio INT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO docentes (nom_docente, dir_docente, ciu_docente, email_docente, " +
+                "fec_nacimiento, tiempo_servicio) VALUES ('Ana Quispe', 'Av. Sol 1', 'Cusco', 'ana@universidad.edu.pe', " +
+                "DATE '1980-01-01', 5)");
+
+        EsquemaParticion.aplicar(dataSource);
+        // Una segunda aplicación no debe intentar agregar la columna otra vez
+        EsquemaParticion.aplicar(dataSource);
+
+        assertThat(jdbcTemplate.queryForList("SELECT nom_orden FROM docentes", String.class)).containsExactly((String) null);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ids_docentes", Integer.class)).isZero();
+    }
+}
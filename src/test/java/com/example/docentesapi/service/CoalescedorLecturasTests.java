@@ -0,0 +1,177 @@
+package com.example.docentesapi.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescedorLecturasTests {
+
+    private static final int LLAMADAS = 8;
+
+    private final ExecutorService hilos = Executors.newFixedThreadPool(LLAMADAS);
+    private final AtomicInteger ejecuciones = new AtomicInteger();
+    private final CountDownLatch iniciada = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+
+    @AfterEach
+    void cerrar() {
+        liberar.countDown();
+        hilos.shutdownNow();
+    }
+
+
+    @Test
+    void ejecutaUnaSolaVezLaConsultaDeLlamadasSimultaneas() throws Exception {
+        CoalescedorLecturas coalescedor = new CoalescedorLecturas(Duration.ZERO);
+
+        List<Future<String>> resultados = llamarALaVez(coalescedor, () -> "resultado");
+        liberar.countDown();
+
+        for (Future<String> resultado : resultados) {
+            assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualTo("resultado");
+        }
+        assertThat(ejecuciones).hasValue(1);
+    }
+
+    @Test
+    void entregaAQuienesEsperanLaExcepcionDeLaConsulta() throws Exception {
+        CoalescedorLecturas coalescedor = new CoalescedorLecturas(Duration.ZERO);
+        IllegalStateException error = new IllegalStateException("base caída");
+
+        List<Future<String>> resultados = llamarALaVez(coalescedor, () -> {
+            throw error;
+        });
+        liberar.countDown();
+
+        for (Future<String> resultado : resultados) {
+            assertThatThrownBy(() -> resultado.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .satisfies(e -> assertThat(e.getCause()).isSameAs(error));
+        }
+        assertThat(ejecuciones).hasValue(1);
+        assertThat(coalescedor.obtenerMetricas()).containsEntry("enCurso", 0);
+    }
+
+    @Test
+    void noReutilizaNiGuardaUnaConsultaIniciadaAntesDeUnaModificacion() throws Exception {
+        CoalescedorLecturas coalescedor = new CoalescedorLecturas(Duration.ofMinutes(1));
+        Future<String> anterior = hilos.submit(() -> coalescedor.ejecutar("clave", () -> consultar("anterior")));
+        assertThat(iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        coalescedor.invalidar(new DocentesModificadosEvent(1L));
+        // Una lectura posterior a la modificación no espera la consulta iniciada antes
+        assertThat(coalescedor.ejecutar("clave", () -> "posterior")).isEqualTo("posterior");
+        liberar.countDown();
+        assertThat(anterior.get(5, TimeUnit.SECONDS)).isEqualTo("anterior");
+
+        // Queda en caché el resultado posterior, no el de la consulta que terminó después
+        assertThat(coalescedor.ejecutar("clave", () -> "otra")).isEqualTo("posterior");
+        assertThat(coalescedor.obtenerMetricas())
+                .containsEntry("ejecuciones", 2L)
+                .containsEntry("coalescidas", 0L)
+                .containsEntry("aciertosMicroCache", 1L);
+    }
+
+    @Test
+    void descartaLaMicroCacheAlExpirarOTrasUnaModificacion() throws Exception {
+        CoalescedorLecturas coalescedor = new CoalescedorLecturas(Duration.ofMillis(300));
+
+        assertThat(coalescedor.ejecutar("clave", () -> consultarSinEsperar("primera"))).isEqualTo("primera");
+        assertThat(coalescedor.ejecutar("clave", () -> consultarSinEsperar("segunda"))).isEqualTo("primera");
+        Thread.sleep(400);
+        assertThat(coalescedor.ejecutar("clave", () -> consultarSinEsperar("tercera"))).isEqualTo("tercera");
+        coalescedor.invalidar(new DocentesModificadosEvent(1L));
+        assertThat(coalescedor.ejecutar("clave", () -> consultarSinEsperar("cuarta"))).isEqualTo("cuarta");
+
+        assertThat(ejecuciones).hasValue(3);
+    }
+
+    @Test
+    void lasMetricasSumanLasSolicitudes() throws Exception {
+        CoalescedorLecturas coalescedor = new CoalescedorLecturas(Duration.ofMinutes(1));
+
+        List<Future<String>> resultados = llamarALaVez(coalescedor, () -> "resultado");
+        liberar.countDown();
+        for (Future<String> resultado : resultados) {
+            resultado.get(5, TimeUnit.SECONDS);
+        }
+        coalescedor.ejecutar("clave", () -> "otra");
+        coalescedor.ejecutar("otra-clave", () -> "otra");
+        coalescedor.invalidar(new DocentesModificadosEvent(1L));
+
+        Map<String, Object> metricas = coalescedor.obtenerMetricas();
+        assertThat(metricas)
+                .containsEntry("solicitudes", (long) LLAMADAS + 2)
+                .containsEntry("ejecuciones", 2L)
+                .containsEntry("coalescidas", (long) LLAMADAS - 1)
+                .containsEntry("aciertosMicroCache", 1L)
+                .containsEntry("ejecucionesAhorradas", (long) LLAMADAS)
+                .containsEntry("porcentajeAhorro", 80.0)
+                .containsEntry("invalidaciones", 1L)
+                .containsEntry("enCurso", 0)
+                .containsEntry("duracionMicroCacheMs", 60_000L);
+    }
+
+
+    /**
+     * Lanza {@code LLAMADAS} lecturas de la misma clave y vuelve cuando todas esperan a la primera,
+     * que queda detenida hasta {@code liberar}.
+     */
+    private List<Future<String>> llamarALaVez(CoalescedorLecturas coalescedor, Supplier<String> consulta)
+            throws InterruptedException {
+        List<Future<String>> resultados = new ArrayList<>();
+        resultados.add(hilos.submit(() -> coalescedor.ejecutar("clave", () -> {
+            consultar(null);
+            return consulta.get();
+        })));
+        assertThat(iniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i < LLAMADAS; i++) {
+            resultados.add(hilos.submit(() -> coalescedor.ejecutar("clave", () -> consultarSinEsperar("no debería ejecutarse"))));
+        }
+        esperarHasta(() -> (long) coalescedor.obtenerMetricas().get("coalescidas") == LLAMADAS - 1);
+        return resultados;
+    }
+
+    private String consultar(String resultado) {
+        ejecuciones.incrementAndGet();
+        iniciada.countDown();
+        try {
+            assertThat(liberar.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return resultado;
+    }
+
+    private String consultarSinEsperar(String resultado) {
+        ejecuciones.incrementAndGet();
+        return resultado;
+    }
+
+    private static void esperarHasta(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.dto.CandidatoDuplicado;
+import com.example.docentesapi.dto.FormatoReporte;
+import com.example.docentesapi.dto.ParDuplicado;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.dto.TipoReporte;
+import com.example.docentesapi.particion.Particiones;
+import com.example.docentesapi.repository.DocenteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DetectorDuplicadosTests {
+
+    private final DocenteRepository docenteRepository = mock(DocenteRepository.class);
+    private final Particiones particiones = new Particiones(1, 1, mock(PlatformTransactionManager.class));
+    private final DetectorDuplicados detector = new DetectorDuplicados(docenteRepository, particiones, 0.90, 31, 2);
+
+
+    @AfterEach
+    void cerrar() {
+        detector.cerrar();
+        particiones.close();
+    }
+
+
+    @Test
+    void comparaDocentesDeLaMismaCiudadConFechasCercanas() {
+        leer(List.of(
+                candidato(1, "Juan Pérez López", "Lima", "1980-05-10"),
+                candidato(2, "Juan Perez Lopez", "Cusco", "1980-05-12"),
+                candidato(3, "Rosa Huamán Torres", "Lima", "1980-05-15"),
+                candidato(4, "Dr. Juan Perez Lopez", "LIMA", "1980-05-20"),
+                candidato(5, "Pérez López, Juan", "Lima", "1980-07-01")));
+        ReporteJob job = nuevoJob();
+        Queue<ParDuplicado> pares = new ConcurrentLinkedQueue<>();
+
+        detector.detectar(job, pares::add);
+
+        // 2 está en otra ciudad, 3 tiene otro nombre y 5 nació fuera de la ventana de 31 días de 4
+        assertThat(pares).singleElement().satisfies(par -> {
+            assertThat(par.idDocente()).isEqualTo(1L);
+            assertThat(par.idDuplicado()).isEqualTo(4L);
+            assertThat(par.fecNacimiento()).isEqualTo(LocalDate.parse("1980-05-10"));
+            assertThat(par.fecNacimientoDuplicado()).isEqualTo(LocalDate.parse("1980-05-20"));
+            assertThat(par.similitud()).isEqualTo(1.0);
+        });
+    }
+
+    @Test
+    void noComparaDocentesSinVecinosEnSuVentana() {
+        leer(List.of(
+                candidato(1, "Ana Quispe", "Lima", "1975-01-01"),
+                candidato(2, "Ana Quispe", "Arequipa", "1975-01-01"),
+                candidato(3, "Ana Quispe", "Lima", "1975-03-01")));
+        Queue<ParDuplicado> pares = new ConcurrentLinkedQueue<>();
+
+        detector.detectar(nuevoJob(), pares::add);
+
+        assertThat(pares).isEmpty();
+    }
+
+    @Test
+    void completaElProgresoConDosPasosPorDocente() {
+        leer(List.of(
+                candidato(1, "Ana Quispe", "Lima", "1975-01-01"),
+                candidato(2, "Ana Quispe Mamani", "Lima", "1975-01-03"),
+                candidato(3, "Luis Rojas", "Cusco", "1975-01-04")));
+        ReporteJob job = nuevoJob();
+
+        detector.detectar(job, par -> { });
+
+        assertThat(job.getTotal()).isEqualTo(6);
+        assertThat(job.getProcesados()).isEqualTo(6);
+    }
+
+    @Test
+    void propagaElErrorDeLaSalida() {
+        leer(List.of(
+                candidato(1, "Ana Quispe", "Lima", "1975-01-01"),
+                candidato(2, "Ana Quispe", "Lima", "1975-01-02")));
+
+        assertThatThrownBy(() -> detector.detectar(nuevoJob(), par -> {
+            throw new IllegalStateException("disco lleno");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("disco lleno");
+    }
+
+    @Test
+    void dejaDeEntregarParesTrasUnErrorQueNoEsRuntimeException() {
+        // 300 docentes iguales generan unas 45.000 comparaciones, repartidas en varias tareas
+        List<CandidatoDuplicado> candidatos = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            candidatos.add(candidato(i, "Ana Quispe", "Lima", "1975-01-01"));
+        }
+        leer(candidatos);
+        AtomicInteger entregas = new AtomicInteger();
+
+        assertThatThrownBy(() -> detector.detectar(nuevoJob(), par -> {
+            entregas.incrementAndGet();
+            throw new AssertionError("salida rota");
+        })).isInstanceOf(IllegalStateException.class).hasCauseInstanceOf(AssertionError.class);
+
+        // Como mucho una entrega por hilo del pool antes de que vea el error
+        assertThat(entregas.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void leeTodasLasParticionesALaVez() {
+        Particiones tresParticiones = new Particiones(3, 3, mock(PlatformTransactionManager.class));
+        DetectorDuplicados detectorParticionado = new DetectorDuplicados(docenteRepository, tresParticiones, 0.90, 31, 2);
+        // El repositorio simulado devuelve los mismos docentes en cada partición
+        leer(List.of(
+                candidato(1, "Ana Quispe", "Lima", "1975-01-01"),
+                candidato(2, "Ana Quispe", "Lima", "1975-01-02"),
+                candidato(3, "Luis Rojas", "Lima", "1975-01-03")));
+        ReporteJob job = nuevoJob();
+        Queue<ParDuplicado> pares = new ConcurrentLinkedQueue<>();
+
+        try {
+            detectorParticionado.detectar(job, pares::add);
+        } finally {
+            detectorParticionado.cerrar();
+            tresParticiones.close();
+        }
+
+        assertThat(pares).hasSize(3).allSatisfy(par -> assertThat(par.idDuplicado()).isEqualTo(2L));
+        assertThat(job.getTotal()).isEqualTo(18);
+        assertThat(job.getProcesados()).isEqualTo(18);
+    }
+
+
+    private void leer(List<CandidatoDuplicado> candidatos) {
+        when(docenteRepository.count()).thenReturn((long) candidatos.size());
+        when(docenteRepository.streamCandidatosDuplicados()).thenAnswer(invocacion -> candidatos.stream());
+    }
+
+    private static CandidatoDuplicado candidato(long id, String nombre, String ciudad, String fecNacimiento) {
+        return new CandidatoDuplicado(id, nombre, ciudad, LocalDate.parse(fecNacimiento));
+    }
+
+    private static ReporteJob nuevoJob() {
+        return new ReporteJob(new SolicitudReporte(TipoReporte.DUPLICADOS_PROBABLES, FormatoReporte.NDJSON, null), 0);
+    }
+}
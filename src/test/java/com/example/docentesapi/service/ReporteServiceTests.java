@@ -0,0 +1,192 @@
+package com.example.docentesapi.service;
+
+import com.example.docentesapi.dto.EstadoReporte;
+import com.example.docentesapi.dto.FormatoReporte;
+import com.example.docentesapi.dto.ReporteJob;
+import com.example.docentesapi.dto.SolicitudReporte;
+import com.example.docentesapi.dto.TipoReporte;
+import com.example.docentesapi.exception.GlobalExceptionHandler;
+import com.example.docentesapi.exception.ReporteNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReporteServiceTests {
+
+    private static final SolicitudReporte EXPORTACION =
+            new SolicitudReporte(TipoReporte.EXPORTACION_DOCENTES, FormatoReporte.CSV, null);
+
+    @TempDir
+    Path directorio;
+
+    private final ReporteGenerador reporteGenerador = mock(ReporteGenerador.class);
+    private final ThreadPoolTaskExecutor reporteExecutor = new ThreadPoolTaskExecutor();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+
+    @AfterEach
+    void cerrar() {
+        liberar.countDown();
+        reporteExecutor.shutdown();
+    }
+
+
+    @Test
+    void reutilizaElReporteDeUnaSolicitudIdentica() throws Exception {
+        generarSinEsperar();
+        ReporteService reporteService = nuevoServicio(Duration.ofMinutes(10), Duration.ofMinutes(5));
+
+        ReporteJob primero = esperar(reporteService.solicitarReporte(EXPORTACION));
+        ReporteJob segundo = reporteService.solicitarReporte(EXPORTACION);
+
+        assertThat(segundo).isSameAs(primero);
+        assertThat(primero.getEstado()).isEqualTo(EstadoReporte.COMPLETADO);
+        verify(reporteGenerador, times(1)).generar(any(), any());
+    }
+
+    @Test
+    void generaOtroReporteTrasModificarDocentes() throws Exception {
+        generarSinEsperar();
+        ReporteService reporteService = nuevoServicio(Duration.ofMinutes(10), Duration.ofMinutes(5));
+
+        ReporteJob primero = esperar(reporteService.solicitarReporte(EXPORTACION));
+        reporteService.invalidarCache(new DocentesModificadosEvent(1L));
+        ReporteJob segundo = esperar(reporteService.solicitarReporte(EXPORTACION));
+
+        assertThat(segundo).isNotSameAs(primero);
+        // El reporte anterior sigue consultable hasta la limpieza
+        assertThat(reporteService.obtenerReporte(primero.getId())).isSameAs(primero);
+        verify(reporteGenerador, times(2)).generar(any(), any());
+    }
+
+    @Test
+    void eliminaLosReportesExpiradosYSusArchivos() throws Exception {
+        generarSinEsperar();
+        ReporteService reporteService = nuevoServicio(Duration.ZERO, Duration.ofMinutes(5));
+        ReporteJob job = esperar(reporteService.solicitarReporte(EXPORTACION));
+        Path archivo = job.getArchivo();
+        assertThat(archivo).exists();
+
+        reporteService.limpiarReportesExpirados();
+
+        assertThat(archivo).doesNotExist();
+        assertThatThrownBy(() -> reporteService.obtenerReporte(job.getId()))
+                .isInstanceOf(ReporteNotFoundException.class);
+    }
+
+    @Test
+    void conservaUnReporteExpiradoDescargadoRecientemente() throws Exception {
+        generarSinEsperar();
+        ReporteService reporteService = nuevoServicio(Duration.ZERO, Duration.ofMinutes(5));
+        ReporteJob job = esperar(reporteService.solicitarReporte(EXPORTACION));
+
+        Path archivo = reporteService.obtenerArchivo(job.getId());
+        reporteService.limpiarReportesExpirados();
+
+        assertThat(archivo).exists();
+        assertThat(reporteService.obtenerReporte(job.getId())).isSameAs(job);
+    }
+
+    @Test
+    void rechazaSolicitudesConLaColaLlena() throws Exception {
+        generarAlLiberar();
+        ReporteService reporteService = nuevoServicio(Duration.ofMinutes(10), Duration.ofMinutes(5));
+
+        // Un reporte en ejecución y otro en la cola llenan el executor
+        ReporteJob enEjecucion = reporteService.solicitarReporte(
+                new SolicitudReporte(TipoReporte.EXPORTACION_DOCENTES, FormatoReporte.CSV, "Lima"));
+        ReporteJob enCola = reporteService.solicitarReporte(
+                new SolicitudReporte(TipoReporte.EXPORTACION_DOCENTES, FormatoReporte.CSV, "Cusco"));
+        WebRequest request = mock(WebRequest.class);
+        when(request.getDescription(false)).thenReturn("uri=/api/reportes");
+
+        assertThatThrownBy(() -> reporteService.solicitarReporte(EXPORTACION))
+                .isInstanceOf(TaskRejectedException.class)
+                .satisfies(e -> assertThat(new GlobalExceptionHandler()
+                        .handleTaskRejectedException((TaskRejectedException) e, request)
+                        .getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // El reporte rechazado no queda en la caché: al liberarse la cola se puede volver a solicitar
+        liberar.countDown();
+        esperar(enEjecucion);
+        esperar(enCola);
+        assertThat(esperar(reporteService.solicitarReporte(EXPORTACION)).getEstado()).isEqualTo(EstadoReporte.COMPLETADO);
+    }
+
+    @Test
+    void informaElProgresoMientrasGenera() throws Exception {
+        generarAlLiberar();
+        ReporteService reporteService = nuevoServicio(Duration.ofMinutes(10), Duration.ofMinutes(5));
+
+        ReporteJob job = reporteService.solicitarReporte(EXPORTACION);
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (job.getProcesados() < 2) {
+            assertThat(System.nanoTime()).isLessThan(limite);
+            Thread.sleep(5);
+        }
+
+        assertThat(job.isActivo()).isTrue();
+        assertThat(job.getProgreso()).isEqualTo(50.0);
+        liberar.countDown();
+        assertThat(esperar(job).getProgreso()).isEqualTo(100.0);
+    }
+
+
+    private ReporteService nuevoServicio(Duration duracionCache, Duration graciaDescarga) throws Exception {
+        reporteExecutor.setCorePoolSize(1);
+        reporteExecutor.setMaxPoolSize(1);
+        reporteExecutor.setQueueCapacity(1);
+        reporteExecutor.initialize();
+        return new ReporteService(reporteGenerador, reporteExecutor, directorio, duracionCache, graciaDescarga);
+    }
+
+    private void generarSinEsperar() throws Exception {
+        doAnswer(invocacion -> {
+            ReporteJob job = invocacion.getArgument(0);
+            job.iniciar(1);
+            job.avanzar();
+            Files.writeString(invocacion.getArgument(1), "contenido");
+            return null;
+        }).when(reporteGenerador).generar(any(), any());
+    }
+
+    // Procesa la mitad y espera a que el test lo libere
+    private void generarAlLiberar() throws Exception {
+        doAnswer(invocacion -> {
+            ReporteJob job = invocacion.getArgument(0);
+            job.iniciar(4);
+            job.avanzar(2);
+            assertThat(liberar.await(5, TimeUnit.SECONDS)).isTrue();
+            job.avanzar(2);
+            Files.writeString(invocacion.getArgument(1), "contenido");
+            return null;
+        }).when(reporteGenerador).generar(any(), any());
+    }
+
+    private static ReporteJob esperar(ReporteJob job) throws InterruptedException {
+        long limite = System.nanoTime() + 5_000_000_000L;
+        while (job.isActivo() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.docentesapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class SimilitudNombresTests {
+
+    @Test
+    void calculaJaroWinklerConLosValoresDeReferencia() {
+        assertThat(SimilitudNombres.jaroWinkler("MARTHA", "MARHTA")).isCloseTo(0.9611, offset(0.0001));
+        assertThat(SimilitudNombres.jaroWinkler("DWAYNE", "DUANE")).isCloseTo(0.84, offset(0.0001));
+        assertThat(SimilitudNombres.jaroWinkler("DIXON", "DICKSONX")).isCloseTo(0.8133, offset(0.0001));
+        assertThat(SimilitudNombres.jaroWinkler("abc", "abc")).isEqualTo(1.0);
+        assertThat(SimilitudNombres.jaroWinkler("abc", "")).isEqualTo(0.0);
+    }
+
+    @Test
+    void normalizaTildesMayusculasSignosYTitulos() {
+        SimilitudNombres.Nombre nombre = SimilitudNombres.normalizar("Dr. José  PÉREZ-López, MSc");
+
+        assertThat(nombre.enOrden()).isEqualTo("jose perez lopez");
+        assertThat(nombre.ordenado()).isEqualTo("jose lopez perez");
+    }
+
+    @Test
+    void ignoraElOrdenDeLasPalabras() {
+        double similitud = SimilitudNombres.similitud(
+                SimilitudNombres.normalizar("Pérez López, Juan"),
+                SimilitudNombres.normalizar("Dr. Juan Perez Lopez"));
+
+        assertThat(similitud).isEqualTo(1.0);
+    }
+
+    @Test
+    void toleraUnApellidoDeMasAlFinal() {
+        SimilitudNombres.Nombre corto = SimilitudNombres.normalizar("Ana Quispe");
+        SimilitudNombres.Nombre completo = SimilitudNombres.normalizar("Ana Quispe Mamani");
+
+        // Ordenadas, "mamani" queda entre "ana" y "quispe" y la similitud baja
+        assertThat(SimilitudNombres.jaroWinkler(corto.ordenado(), completo.ordenado())).isLessThan(0.90);
+        assertThat(SimilitudNombres.similitud(corto, completo)).isGreaterThanOrEqualTo(0.90);
+    }
+
+    @Test
+    void distingueNombresDiferentes() {
+        double similitud = SimilitudNombres.similitud(
+                SimilitudNombres.normalizar("Juan Pérez López"),
+                SimilitudNombres.normalizar("María Quispe Mamani"));
+
+        assertThat(similitud).isLessThan(0.90);
+    }
+
+    @Test
+    void conUmbralCoincideConLaSimilitudCompletaAlClasificarLosPares() {
+        String[] nombres = {"Juan Pérez López", "Dr. Juan Perez Lopez", "Pérez López, Juan", "Juan Peres Lopes",
+                "Ana Quispe", "Ana Quispe Mamani", "Ana Quipse", "Rosa Huamán Torres", "María Quispe Mamani",
+                "Jorge Rojas", "Jorge Rojas Vargas", "Martha", "Marhta", "", "Luis"};
+
+        for (String nombreA : nombres) {
+            for (String nombreB : nombres) {
+                SimilitudNombres.Nombre a = SimilitudNombres.normalizar(nombreA);
+                SimilitudNombres.Nombre b = SimilitudNombres.normalizar(nombreB);
+                for (double umbral : new double[]{0.80, 0.90, 0.95}) {
+                    assertThat(SimilitudNombres.similitud(a, b, umbral) >= umbral)
+                            .as("%s / %s con umbral %s", nombreA, nombreB, umbral)
+                            .isEqualTo(SimilitudNombres.similitud(a, b) >= umbral);
+                }
+            }
+        }
+    }
+
+    @Test
+    void devuelveLaSimilitudEnOrdenSiYaAlcanzaElUmbral() {
+        SimilitudNombres.Nombre a = SimilitudNombres.normalizar("Juan Perez Lopez");
+        SimilitudNombres.Nombre b = SimilitudNombres.normalizar("Juan Peres Lopes");
+
+        assertThat(SimilitudNombres.similitud(a, b, 0.90))
+                .isEqualTo(SimilitudNombres.jaroWinkler(a.enOrden(), b.enOrden()))
+                .isGreaterThanOrEqualTo(0.90);
+    }
+}
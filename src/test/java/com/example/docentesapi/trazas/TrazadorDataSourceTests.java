@@ -0,0 +1,117 @@
+package com.example.docentesapi.trazas;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrazadorDataSourceTests {
+
+    private static final String CONSULTA = "select * from docentes where ciu_docente = ?";
+
+    private final TrazadorSql trazador = mock(TrazadorSql.class);
+    private final Connection conexion = mock(Connection.class);
+    private final PreparedStatement sentencia = mock(PreparedStatement.class);
+    private final ResultSet filas = mock(ResultSet.class);
+
+
+    @BeforeEach
+    void preparar() throws SQLException {
+        when(conexion.prepareStatement(anyString())).thenReturn(sentencia);
+        when(trazador.origenActual()).thenReturn("DocenteRepository.streamByCiuDocente");
+    }
+
+
+    @Test
+    void registraCadaEjecucionConSusParametros() throws SQLException {
+        when(sentencia.executeUpdate()).thenReturn(1);
+
+        PreparedStatement trazada = abrir().prepareStatement("delete from docentes where id_docente = ?");
+        trazada.setLong(1, 42L);
+        trazada.executeUpdate();
+
+        verify(trazador).registrar(eq("delete from docentes where id_docente = ?"), eq(Map.of(1, 42L)), anyLong(), eq(true));
+    }
+
+    @Test
+    void registraComoFallidaUnaEjecucionQueLanzaExcepcion() throws SQLException {
+        when(sentencia.executeUpdate()).thenThrow(new SQLException("duplicado"));
+
+        PreparedStatement trazada = abrir().prepareStatement("insert into docentes values (?)");
+        assertThatThrownBy(trazada::executeUpdate).isInstanceOf(SQLException.class);
+
+        verify(trazador).registrar(eq("insert into docentes values (?)"), eq(null), anyLong(), eq(false));
+    }
+
+    @Test
+    void incluyeLaLecturaDelResultSetEnLaDuracionDeUnaConsulta() throws Exception {
+        when(sentencia.executeQuery()).thenReturn(filas);
+        when(filas.next()).thenAnswer(invocacion -> {
+            Thread.sleep(20);
+            return true;
+        }).thenAnswer(invocacion -> {
+            Thread.sleep(20);
+            return false;
+        });
+
+        PreparedStatement trazada = abrir().prepareStatement(CONSULTA);
+        trazada.setString(1, "Lima");
+        ResultSet leidas = trazada.executeQuery();
+        // El origen se toma al ejecutar, aunque el stream se lea fuera del repositorio
+        when(trazador.origenActual()).thenReturn("sin repositorio");
+        trazada.setString(1, "Cusco");
+        while (leidas.next()) {
+            // consumir
+        }
+        verify(trazador, never()).registrar(anyString(), anyMap(), anyString(), anyLong(), anyBoolean());
+        assertThat(leidas.getStatement()).isSameAs(trazada);
+
+        leidas.close();
+        trazada.close();
+
+        ArgumentCaptor<Long> duracion = ArgumentCaptor.forClass(Long.class);
+        verify(trazador, times(1)).registrar(eq(CONSULTA), eq(Map.of(1, "Lima")),
+                eq("DocenteRepository.streamByCiuDocente"), duracion.capture(), eq(true));
+        assertThat(duracion.getValue()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void registraLaConsultaAlCerrarLaSentenciaSiElResultSetQuedoAbierto() throws SQLException {
+        when(sentencia.executeQuery()).thenReturn(filas);
+
+        PreparedStatement trazada = abrir().prepareStatement(CONSULTA);
+        trazada.setString(1, "Lima");
+        trazada.executeQuery();
+        trazada.close();
+
+        verify(trazador).registrar(eq(CONSULTA), eq(Map.of(1, "Lima")), eq("DocenteRepository.streamByCiuDocente"),
+                anyLong(), eq(true));
+    }
+
+
+    private Connection abrir() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(conexion);
+        return new TrazadorDataSource(dataSource, trazador).getConnection();
+    }
+}
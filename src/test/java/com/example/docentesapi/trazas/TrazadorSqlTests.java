@@ -0,0 +1,105 @@
+package com.example.docentesapi.trazas;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrazadorSqlTests {
+
+    private static final long UN_MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger("com.example.docentesapi.trazas.SQL");
+    private final ListAppender<ILoggingEvent> eventos = new ListAppender<>();
+
+
+    @BeforeEach
+    void capturar() {
+        eventos.start();
+        logger.addAppender(eventos);
+    }
+
+    @AfterEach
+    void soltar() {
+        logger.detachAppender(eventos);
+    }
+
+
+    @Test
+    void muestreaSegunLaTasaConfigurada() {
+        TrazadorSql todas = new TrazadorSql(true, 1.0, Duration.ofSeconds(1), 20);
+        TrazadorSql ninguna = new TrazadorSql(true, 0.0, Duration.ofSeconds(1), 20);
+
+        for (int i = 0; i < 50; i++) {
+            todas.registrar("select 1", null, UN_MS, true);
+            ninguna.registrar("select 1", null, UN_MS, true);
+        }
+
+        assertThat(todas.obtenerMetricas()).containsEntry("sentenciasMuestreadas", 50L).containsEntry("totalSentencias", 50L);
+        assertThat(ninguna.obtenerMetricas()).containsEntry("sentenciasMuestreadas", 0L).containsEntry("totalSentencias", 50L);
+        assertThat(eventos.list).hasSize(50).allMatch(evento -> evento.getLevel() == Level.INFO);
+    }
+
+    @Test
+    void registraLasSentenciasLentasConParametrosYRepositorioDeOrigen() {
+        TrazadorSql trazador = new TrazadorSql(true, 0.0, Duration.ofMillis(200), 20);
+        Map<Integer, Object> parametros = new TreeMap<>(Map.of(1, 42L, 2, "x".repeat(150)));
+
+        String anterior = trazador.entrarEnRepositorio("DocenteRepository.findById");
+        try {
+            trazador.registrar("select * from docentes where id_docente = ?", parametros, 250 * UN_MS, true);
+        } finally {
+            trazador.salirDeRepositorio(anterior);
+        }
+        trazador.registrar("select 1", null, 300 * UN_MS, false);
+
+        assertThat(eventos.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+                "SQL lento 250 ms [DocenteRepository.findById] select * from docentes where id_docente = ? "
+                        + "parametros=[1=42, 2=" + "x".repeat(100) + "...]",
+                "SQL lento 300 ms [sin repositorio] (fallida) select 1 parametros=[]");
+        assertThat(eventos.list).allMatch(evento -> evento.getLevel() == Level.WARN);
+        assertThat(trazador.obtenerMetricas()).containsEntry("sentenciasLentas", 2L).containsEntry("tiempoPromedioMs", 275.0);
+    }
+
+    @Test
+    void avisaDePosibleN1CuandoUnaPeticionSuperaElMaximo() throws Exception {
+        TrazadorSql trazador = new TrazadorSql(true, 0.0, Duration.ofSeconds(1), 3);
+        ExecutorService otroHilo = Executors.newSingleThreadExecutor();
+
+        trazador.iniciarPeticion();
+        trazador.registrar("select * from docentes", null, UN_MS, true);
+        for (int i = 0; i < 2; i++) {
+            trazador.registrar("select * from docentes where id_docente = ?", null, UN_MS, true);
+        }
+        // Las sentencias de tareas decoradas en otro hilo cuentan para la misma petición
+        try {
+            otroHilo.submit(trazador.decorate(() -> trazador.registrar(
+                    "select * from docentes where id_docente = ?", null, UN_MS, true))).get(5, TimeUnit.SECONDS);
+        } finally {
+            otroHilo.shutdown();
+        }
+        trazador.finalizarPeticion("GET", "/api/docentes");
+
+        trazador.iniciarPeticion();
+        trazador.registrar("select * from docentes", null, UN_MS, true);
+        trazador.finalizarPeticion("GET", "/api/docentes/1");
+
+        assertThat(eventos.list).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+                "Posible N+1: 4 sentencias en GET /api/docentes; la más repetida (3 veces): "
+                        + "select * from docentes where id_docente = ?");
+        assertThat(trazador.obtenerMetricas()).containsEntry("peticionesPosibleN1", 1L);
+    }
+}